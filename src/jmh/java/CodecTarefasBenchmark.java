@@ -0,0 +1,76 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import cache.CodecBinarioTarefas;
+import cache.CodecXStreamTarefas;
+import interfaces.cache.ICacheCodec;
+import modelo.Tarefa;
+import modelo.Usuario;
+
+/**
+ * Compara o codec binário com o XML (XStream) usado anteriormente no cache.
+ * Executar com: gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CodecTarefasBenchmark {
+
+    @Param({ "10", "500" })
+    private int quantidade;
+
+    private ICacheCodec xml;
+    private ICacheCodec binario;
+    private List<Tarefa> tarefas;
+    private byte[] dadosXml;
+    private byte[] dadosBinario;
+
+    @Setup
+    public void preparar() {
+        xml = new CodecXStreamTarefas();
+        binario = new CodecBinarioTarefas();
+
+        // Mesmo Usuario em todas as tarefas, com hash BCrypt como no banco
+        Usuario usuario = new Usuario("Benchmark", "bench@todolist.com",
+                "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3ZKZ6u1rJz1Q9yN0jvQ6Y8S");
+        usuario.setId(42L);
+
+        tarefas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Tarefa t = new Tarefa("Tarefa " + i, "Descrição da tarefa número " + i,
+                    LocalDate.now(), LocalDate.now().plusDays(i % 30), 1 + i % 5);
+            t.setId((long) i + 1);
+            t.setPercentual(i % 100);
+            t.setUsuario(usuario);
+            tarefas.add(t);
+        }
+        dadosXml = xml.codificar(tarefas);
+        dadosBinario = binario.codificar(tarefas);
+        System.out.printf("%n[BENCH] %d tarefas: XML=%d bytes, binário=%d bytes%n",
+                quantidade, dadosXml.length, dadosBinario.length);
+    }
+
+    @Benchmark
+    public byte[] codificarXml() {
+        return xml.codificar(tarefas);
+    }
+
+    @Benchmark
+    public byte[] codificarBinario() {
+        return binario.codificar(tarefas);
+    }
+
+    @Benchmark
+    public List<Tarefa> decodificarXml() {
+        return xml.decodificar(dadosXml);
+    }
+
+    @Benchmark
+    public List<Tarefa> decodificarBinario() {
+        return binario.decodificar(dadosBinario);
+    }
+}
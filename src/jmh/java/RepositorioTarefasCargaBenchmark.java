@@ -0,0 +1,65 @@
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.*;
+
+import modelo.Tarefa;
+import modelo.Usuario;
+import persistencia.DatabaseManager;
+import repositorios.TarefaRepository;
+import repositorios.UsuarioRepository;
+
+/**
+ * Teste de carga do repositório SQL (sem cache) com várias threads listando
+ * e salvando ao mesmo tempo, para medir o pool de conexões.
+ * Precisa do PostgreSQL do docker-compose. Executar com: gradlew jmh
+ * (comparar variando -Dtodolist.db.pool.maxTotal).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class RepositorioTarefasCargaBenchmark {
+
+    private static final String EMAIL = "carga@todolist.com";
+
+    private final AtomicLong sequencia = new AtomicLong();
+    private TarefaRepository repositorio;
+    private Usuario usuario;
+
+    @Setup
+    public void preparar() {
+        repositorio = new TarefaRepository();
+        UsuarioRepository usuarios = new UsuarioRepository();
+        usuario = usuarios.buscarPorEmail(EMAIL);
+        if (usuario == null) {
+            usuarios.salvar(new Usuario("Carga", EMAIL, "-"));
+            usuario = usuarios.buscarPorEmail(EMAIL);
+        }
+    }
+
+    @TearDown
+    public void finalizar() {
+        System.out.printf("%n[BENCH] %s%n", DatabaseManager.getInstance().getMetricasPool());
+    }
+
+    @Benchmark
+    @Group("misto")
+    @GroupThreads(6)
+    public List<Tarefa> listar() {
+        return repositorio.listarPorUsuario(usuario);
+    }
+
+    @Benchmark
+    @Group("misto")
+    @GroupThreads(2)
+    public Tarefa salvar() {
+        Tarefa t = new Tarefa("Carga " + sequencia.incrementAndGet(), "Tarefa do teste de carga",
+                LocalDate.now(), LocalDate.now().plusDays(7), 3);
+        t.setUsuario(usuario);
+        repositorio.salvar(t);
+        return t;
+    }
+}
@@ -0,0 +1,70 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import modelo.Tarefa;
+import modelo.Usuario;
+import repositorios.TarefaRepository;
+import repositorios.UsuarioRepository;
+
+/**
+ * Inserts por segundo no SQL: uma transação por tarefa (salvar em laço, como
+ * era feito antes) contra uma transação com inserts em lote (salvarTodos).
+ * Precisa do PostgreSQL do docker-compose. Executar com: gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@OperationsPerInvocation(TarefaInsercaoLoteBenchmark.QUANTIDADE)
+public class TarefaInsercaoLoteBenchmark {
+
+    static final int QUANTIDADE = 500;
+    private static final String EMAIL = "lote@todolist.com";
+
+    private TarefaRepository repositorio;
+    private Usuario usuario;
+    private List<Tarefa> tarefas;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        repositorio = new TarefaRepository();
+        UsuarioRepository usuarios = new UsuarioRepository();
+        usuario = usuarios.buscarPorEmail(EMAIL);
+        if (usuario == null) {
+            usuarios.salvar(new Usuario("Lote", EMAIL, "-"));
+            usuario = usuarios.buscarPorEmail(EMAIL);
+        }
+    }
+
+    // Tarefas novas (sem id) a cada chamada, senão o segundo round viraria UPDATE
+    @Setup(Level.Invocation)
+    public void gerarTarefas() {
+        tarefas = new ArrayList<>(QUANTIDADE);
+        for (int i = 0; i < QUANTIDADE; i++) {
+            Tarefa t = new Tarefa("Lote " + i, "Tarefa do benchmark de inserção",
+                    LocalDate.now(), LocalDate.now().plusDays(i % 30), i % 5 + 1);
+            t.setUsuario(usuario);
+            tarefas.add(t);
+        }
+    }
+
+    @Benchmark
+    public List<Tarefa> umaTransacaoPorTarefa() {
+        for (Tarefa t : tarefas) {
+            repositorio.salvar(t);
+        }
+        return tarefas;
+    }
+
+    @Benchmark
+    public List<Tarefa> salvarTodosEmLote() {
+        repositorio.salvarTodos(tarefas);
+        return tarefas;
+    }
+}
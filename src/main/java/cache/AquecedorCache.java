@@ -0,0 +1,113 @@
+package cache;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import interfaces.services.IEventoService;
+import interfaces.services.ITarefaService;
+import modelo.Tarefa;
+import modelo.Usuario;
+
+/**
+ * Aquecimento de cache disparado no login.
+ * <p>
+ * Enquanto o usuário ainda está na tela principal, carrega em segundo plano
+ * só o que fica guardado em algum cache: a lista de tarefas (cache L1 e
+ * Redis, pelo Proxy) e os eventos do mês atual (cache de consultas do
+ * Hibernate, ver EventoRepository.listarEntre). Se a tela pedir a lista
+ * antes do fim, a carga única do Proxy faz ela aguardar esta mesma
+ * consulta em vez de abrir outra.
+ * </p>
+ * <p>
+ * Subtarefas não são aquecidas: nada as guarda, e o progresso exibido nas
+ * listas já vem dos resumos mantidos no MongoDB.
+ * </p>
+ * <p>
+ * Falhas são só registradas: o aquecimento nunca impede o uso do sistema.
+ * </p>
+ */
+public class AquecedorCache {
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "aquecimento-login");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final ITarefaService tarefaService;
+    private final IEventoService eventoService;       // pode ser null
+    private final Set<Long> emAndamento = ConcurrentHashMap.newKeySet();
+
+    private volatile long ultimaDuracaoMs;
+    private volatile long aquecimentos;
+
+    public AquecedorCache(ITarefaService tarefaService, IEventoService eventoService) {
+        this.tarefaService = tarefaService;
+        this.eventoService = eventoService;
+    }
+
+    /**
+     * Agenda o aquecimento para o usuário que acabou de logar.
+     *
+     * @return conclusão do aquecimento (já concluída se outro estiver em
+     *         andamento para o mesmo usuário)
+     */
+    public CompletableFuture<Void> aquecer(Usuario usuario) {
+        if (usuario == null || usuario.getId() == null || !emAndamento.add(usuario.getId())) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> {
+            try {
+                executar(usuario);
+            } finally {
+                emAndamento.remove(usuario.getId());
+            }
+        }, EXECUTOR);
+    }
+
+    private void executar(Usuario usuario) {
+        long inicio = System.currentTimeMillis();
+        System.out.println("[AQUECIMENTO] Iniciando para: " + usuario.getEmail());
+
+        List<Tarefa> tarefas = List.of();
+        try {
+            tarefas = tarefaService.listarPorUsuario(usuario);
+        } catch (RuntimeException e) {
+            System.out.println("[AQUECIMENTO] Falha ao carregar tarefas: " + e.getMessage());
+        }
+
+        if (eventoService != null) {
+            try {
+                // Mesmos parâmetros do calendário/relatório do mês: a consulta
+                // cacheável de listarEntre fica guardada para eles
+                YearMonth mes = YearMonth.now();
+                eventoService.listarPorMes(mes.getMonthValue(), mes.getYear());
+            } catch (RuntimeException e) {
+                System.out.println("[AQUECIMENTO] Falha ao carregar eventos: " + e.getMessage());
+            }
+        }
+
+        ultimaDuracaoMs = System.currentTimeMillis() - inicio;
+        aquecimentos++;
+        System.out.println("[AQUECIMENTO] Concluído em " + ultimaDuracaoMs + " ms (" + tarefas.size() + " tarefas).");
+    }
+
+    // --- Métricas ---
+
+    /**
+     * Tempo da última carga feita em segundo plano, que deixou de ser pago
+     * pela primeira abertura da lista de tarefas.
+     */
+    public long getUltimaDuracaoMs() {
+        return ultimaDuracaoMs;
+    }
+
+    public long getAquecimentos() {
+        return aquecimentos;
+    }
+}
@@ -0,0 +1,79 @@
+package cache;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import interfaces.cache.ICanalPubSub;
+import interfaces.observer.IObserver;
+import interfaces.observer.ISubject;
+
+/**
+ * Barramento de invalidação de cache entre instâncias da aplicação.
+ * <p>
+ * Quando um nó grava tarefas, publica "tarefas:{usuarioId}" no canal; os
+ * demais nós recebem a chave e notificam seus observadores (ex: cache L1)
+ * para descartá-la. Mensagens do próprio nó são ignoradas, pois ele já
+ * invalidou localmente. Após (re)conectar ao canal, os observadores recebem
+ * {@link #TODAS_AS_CHAVES}, já que invalidações podem ter sido perdidas.
+ * </p>
+ */
+public class BarramentoInvalidacao implements ISubject {
+
+    public static final String CANAL = "todolist:invalidacao";
+    public static final String TODAS_AS_CHAVES = "tarefas:*";
+    private static final String SEPARADOR = "|";
+
+    private final ICanalPubSub canal;
+    private final String idNo;
+    private final List<IObserver> observadores = new CopyOnWriteArrayList<>();
+
+    public BarramentoInvalidacao(ICanalPubSub canal) {
+        this.canal = canal;
+        this.idNo = UUID.randomUUID().toString();
+    }
+
+    /**
+     * Começa a escutar invalidações publicadas por outros nós.
+     */
+    public void iniciar() {
+        canal.assinar(CANAL, this::receber, () -> notificarObservadores(TODAS_AS_CHAVES));
+    }
+
+    /**
+     * Avisa os demais nós que a lista de tarefas do usuário mudou.
+     */
+    public void publicar(Long usuarioId) {
+        canal.publicar(CANAL, idNo + SEPARADOR + "tarefas:" + usuarioId);
+    }
+
+    public void fechar() {
+        canal.fechar();
+    }
+
+    private void receber(String mensagem) {
+        int pos = mensagem.indexOf(SEPARADOR);
+        if (pos < 0)
+            return;
+        if (mensagem.substring(0, pos).equals(idNo))
+            return; // Eco da própria publicação
+        notificarObservadores(mensagem.substring(pos + 1));
+    }
+
+    @Override
+    public void adicionarObservador(IObserver observer) {
+        observadores.add(observer);
+    }
+
+    @Override
+    public void removerObservador(IObserver observer) {
+        observadores.remove(observer);
+    }
+
+    @Override
+    public void notificarObservadores(Object mensagem) {
+        for (IObserver observer : observadores) {
+            observer.atualizar(mensagem);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import interfaces.observer.IObserver;
+import modelo.Tarefa;
+
+/**
+ * Cache L1 em memória (near-cache) das listas de tarefas por usuário.
+ * <p>
+ * Fica na frente do Redis para evitar rede e desserialização quando a mesma
+ * tela é recarregada várias vezes. É limitado pelo peso total (quantidade de
+ * tarefas somada de todas as entradas), usa despejo LRU e TTL por entrada.
+ * Expõe contadores de acertos, falhas e despejos.
+ * </p>
+ * <p>
+ * Também é observador do {@link BarramentoInvalidacao}: recebe chaves
+ * "tarefas:{usuarioId}" invalidadas por outros nós.
+ * </p>
+ * <p>
+ * Toda alteração incrementa um carimbo de versão. Quem carrega uma lista
+ * das camadas inferiores lê a versão antes e grava com
+ * {@link #guardarSeVersao(Long, List, long)}, que recusa a lista se alguma
+ * escrita aconteceu no meio (evita sobrescrever dado novo com dado velho).
+ * </p>
+ */
+public class CacheLocalTarefas implements IObserver {
+
+    public static final int PESO_MAXIMO_PADRAO = 10_000;
+    public static final long TTL_PADRAO_MS = 30_000;
+
+    private final int pesoMaximo;
+    private final long ttlMs;
+
+    // accessOrder = true -> a iteração começa pela entrada menos usada (LRU)
+    private final LinkedHashMap<Long, Entrada> entradas = new LinkedHashMap<>(64, 0.75f, true);
+    private int pesoAtual;
+    private long versao;
+
+    private long acertos;
+    private long falhas;
+    private long despejos;
+
+    public CacheLocalTarefas() {
+        this(PESO_MAXIMO_PADRAO, TTL_PADRAO_MS);
+    }
+
+    /**
+     * @param pesoMaximo soma máxima de tarefas guardadas em todas as entradas
+     * @param ttlMs      tempo de vida de cada entrada em milissegundos
+     */
+    public CacheLocalTarefas(int pesoMaximo, long ttlMs) {
+        if (pesoMaximo <= 0 || ttlMs <= 0) {
+            throw new IllegalArgumentException("Peso máximo e TTL devem ser positivos");
+        }
+        this.pesoMaximo = pesoMaximo;
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * Busca a lista do usuário.
+     *
+     * @return cópia da lista em cache ou null se ausente/expirada
+     */
+    public synchronized List<Tarefa> buscar(Long usuarioId) {
+        Entrada e = entradas.get(usuarioId);
+        if (e == null) {
+            falhas++;
+            return null;
+        }
+        if (e.expiraEm <= agora()) {
+            removerEntrada(usuarioId);
+            falhas++;
+            return null;
+        }
+        acertos++;
+        return new ArrayList<>(e.tarefas);
+    }
+
+    /**
+     * Indica se há uma lista válida para o usuário, sem contar como acerto
+     * ou falha.
+     */
+    public synchronized boolean contem(Long usuarioId) {
+        Entrada e = entradas.get(usuarioId);
+        return e != null && e.expiraEm > agora();
+    }
+
+    public synchronized void guardar(Long usuarioId, List<Tarefa> tarefas) {
+        colocar(usuarioId, new ArrayList<>(tarefas), agora() + ttlMs);
+    }
+
+    /**
+     * Guarda a lista apenas se nenhuma escrita ocorreu desde
+     * {@link #versaoAtual()} ter sido lida.
+     *
+     * @return true se a lista foi guardada
+     */
+    public synchronized boolean guardarSeVersao(Long usuarioId, List<Tarefa> tarefas, long versaoLida) {
+        if (versao != versaoLida) {
+            return false;
+        }
+        guardar(usuarioId, tarefas);
+        return true;
+    }
+
+    public synchronized long versaoAtual() {
+        return versao;
+    }
+
+    /**
+     * Write-through: insere ou substitui (pelo id) a tarefa na lista em cache.
+     * Se o usuário não estiver em cache, nada é feito.
+     */
+    public synchronized void aplicarGravacao(Long usuarioId, Tarefa tarefa) {
+        versao++;
+        Entrada e = entradas.get(usuarioId);
+        if (e == null || tarefa.getId() == null) {
+            removerEntrada(usuarioId);
+            return;
+        }
+        List<Tarefa> nova = new ArrayList<>(e.tarefas);
+        int pos = -1;
+        for (int i = 0; i < nova.size() && pos < 0; i++) {
+            if (tarefa.getId().equals(nova.get(i).getId()))
+                pos = i;
+        }
+        if (pos >= 0) {
+            nova.set(pos, tarefa); // Mantém a posição original na lista
+        } else {
+            nova.add(tarefa);
+        }
+        colocar(usuarioId, nova, e.expiraEm);
+    }
+
+    /**
+     * Write-through: retira a tarefa da lista em cache.
+     */
+    public synchronized void aplicarRemocao(Long usuarioId, Long tarefaId) {
+        versao++;
+        Entrada e = entradas.get(usuarioId);
+        if (e == null) {
+            return;
+        }
+        List<Tarefa> nova = new ArrayList<>(e.tarefas);
+        nova.removeIf(t -> tarefaId != null && tarefaId.equals(t.getId()));
+        colocar(usuarioId, nova, e.expiraEm);
+    }
+
+    private void colocar(Long usuarioId, List<Tarefa> tarefas, long expiraEm) {
+        int peso = Math.max(1, tarefas.size());
+        removerEntrada(usuarioId);
+        if (peso > pesoMaximo) {
+            return; // Lista maior que o cache inteiro: não vale a pena guardar
+        }
+        entradas.put(usuarioId, new Entrada(tarefas, peso, expiraEm));
+        pesoAtual += peso;
+        despejarExcedente();
+    }
+
+    public synchronized void invalidar(Long usuarioId) {
+        versao++;
+        removerEntrada(usuarioId);
+    }
+
+    public synchronized void limpar() {
+        versao++;
+        entradas.clear();
+        pesoAtual = 0;
+    }
+
+    @Override
+    public void atualizar(Object mensagem) {
+        String chave = String.valueOf(mensagem);
+        if (BarramentoInvalidacao.TODAS_AS_CHAVES.equals(chave)) {
+            limpar();
+            return;
+        }
+        if (chave.startsWith("tarefas:")) {
+            try {
+                invalidar(Long.valueOf(chave.substring("tarefas:".length())));
+            } catch (NumberFormatException e) {
+                System.out.println("[CACHE L1] Chave de invalidação inválida: " + chave);
+            }
+        }
+    }
+
+    private void despejarExcedente() {
+        Iterator<Map.Entry<Long, Entrada>> it = entradas.entrySet().iterator();
+        while (pesoAtual > pesoMaximo && it.hasNext()) {
+            pesoAtual -= it.next().getValue().peso;
+            it.remove();
+            despejos++;
+        }
+    }
+
+    private void removerEntrada(Long usuarioId) {
+        Entrada antiga = entradas.remove(usuarioId);
+        if (antiga != null) {
+            pesoAtual -= antiga.peso;
+        }
+    }
+
+    // Isolado para facilitar testes de expiração
+    protected long agora() {
+        return System.currentTimeMillis();
+    }
+
+    // --- Métricas ---
+
+    public synchronized long getAcertos() {
+        return acertos;
+    }
+
+    public synchronized long getFalhas() {
+        return falhas;
+    }
+
+    public synchronized long getDespejos() {
+        return despejos;
+    }
+
+    public synchronized int getPesoAtual() {
+        return pesoAtual;
+    }
+
+    public synchronized int getQuantidadeEntradas() {
+        return entradas.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        long total = acertos + falhas;
+        double taxa = total == 0 ? 0.0 : (acertos * 100.0) / total;
+        return String.format("CacheL1{entradas=%d, peso=%d/%d, acertos=%d, falhas=%d, despejos=%d, taxa=%.1f%%}",
+                entradas.size(), pesoAtual, pesoMaximo, acertos, falhas, despejos, taxa);
+    }
+
+    private static final class Entrada {
+        final List<Tarefa> tarefas;
+        final int peso;
+        final long expiraEm;
+
+        Entrada(List<Tarefa> tarefas, int peso, long expiraEm) {
+            this.tarefas = tarefas;
+            this.peso = peso;
+            this.expiraEm = expiraEm;
+        }
+    }
+}
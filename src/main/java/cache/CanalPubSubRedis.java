@@ -0,0 +1,90 @@
+package cache;
+
+import java.util.function.Consumer;
+
+import interfaces.cache.ICanalPubSub;
+import persistencia.RedisManager;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPubSub;
+
+/**
+ * Canal Pub/Sub sobre o Redis gerenciado pelo RedisManager.
+ * <p>
+ * A assinatura roda numa thread daemon com conexão própria (o SUBSCRIBE
+ * bloqueia a conexão) e tenta reconectar se o Redis cair.
+ * </p>
+ */
+public class CanalPubSubRedis implements ICanalPubSub {
+
+    private static final long ESPERA_RECONEXAO_MS = 5_000;
+
+    private volatile boolean ativo;
+    private volatile JedisPubSub assinatura;
+    private Thread thread;
+
+    @Override
+    public void publicar(String canal, String mensagem) {
+        try {
+            RedisManager.getInstance().executar(jedis -> jedis.publish(canal, mensagem));
+        } catch (Exception e) {
+            System.out.println("[REDIS] Erro ao publicar invalidação: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void assinar(String canal, Consumer<String> receptor, Runnable aoConectar) {
+        if (ativo)
+            return;
+        ativo = true;
+        thread = new Thread(() -> loopAssinatura(canal, receptor, aoConectar), "redis-invalidacao");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void loopAssinatura(String canal, Consumer<String> receptor, Runnable aoConectar) {
+        while (ativo) {
+            try (Jedis jedis = RedisManager.getInstance().getJedis()) {
+                if (jedis != null) {
+                    assinatura = new JedisPubSub() {
+                        @Override
+                        public void onSubscribe(String c, int total) {
+                            System.out.println("[REDIS] Assinando invalidações em: " + c);
+                            // Só aqui o servidor respondeu: obter a conexão não prova nada
+                            RedisManager.getInstance().registrarSucesso();
+                            aoConectar.run();
+                        }
+
+                        @Override
+                        public void onMessage(String c, String mensagem) {
+                            receptor.accept(mensagem);
+                        }
+                    };
+                    jedis.subscribe(assinatura, canal); // Bloqueia até unsubscribe ou queda
+                }
+            } catch (Exception e) {
+                RedisManager.getInstance().registrarErro(e);
+                System.out.println("[REDIS] Assinatura interrompida: " + e.getMessage());
+            }
+            if (ativo) {
+                try {
+                    Thread.sleep(ESPERA_RECONEXAO_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void fechar() {
+        ativo = false;
+        JedisPubSub atual = assinatura;
+        if (atual != null && atual.isSubscribed()) {
+            atual.unsubscribe();
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalescência de cargas concorrentes (single-flight).
+ * <p>
+ * Enquanto uma carga para a chave está em andamento, as demais chamadas
+ * com a mesma chave esperam e recebem o mesmo resultado, em vez de
+ * repetirem a consulta ao banco.
+ * </p>
+ *
+ * @param <K> tipo da chave (ex: id do usuário)
+ * @param <V> tipo do resultado da carga
+ */
+public class CargaUnica<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+    private final AtomicLong coalescidas = new AtomicLong();
+
+    /**
+     * Executa a carga ou, se já houver uma em andamento para a chave,
+     * aguarda o resultado dela.
+     */
+    public V executar(K chave, Supplier<V> carga) {
+        CompletableFuture<V> nova = new CompletableFuture<>();
+        CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, nova);
+        if (existente != null) {
+            coalescidas.incrementAndGet();
+            return aguardar(existente);
+        }
+        try {
+            V valor = carga.get();
+            nova.complete(valor);
+            return valor;
+        } catch (Throwable e) {
+            // Qualquer falha (inclusive Error) precisa liberar quem está esperando
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, nova);
+        }
+    }
+
+    private V aguardar(CompletableFuture<V> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return quantas chamadas reaproveitaram uma carga em andamento
+     */
+    public long getCoalescidas() {
+        return coalescidas.get();
+    }
+}
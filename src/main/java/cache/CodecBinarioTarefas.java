@@ -0,0 +1,289 @@
+package cache;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import interfaces.cache.ICacheCodec;
+import modelo.Tarefa;
+import modelo.Usuario;
+
+/**
+ * Codec binário compacto e versionado para tarefas.
+ * <p>
+ * Formato (versão 1):
+ * <ul>
+ * <li>1 byte de versão, seguido da quantidade de tarefas (varint). Uma
+ * tarefa avulsa é gravada como versão + tarefa, sem a quantidade;</li>
+ * <li>por tarefa: 1 byte de flags indicando os campos presentes, id (varint),
+ * textos com prefixo de tamanho em UTF-8, datas como epoch day em 4 bytes
+ * fixos, percentual em 8 bytes e prioridade (varint zigzag);</li>
+ * <li>do Usuario é gravado apenas o id: a lista é sempre de um único dono,
+ * que quem lê já conhece, e a associação é LAZY (ler nome/email de um
+ * proxy fora da sessão falharia). Entradas antigas com nome e email
+ * continuam legíveis. O hash da senha nunca vai para o cache.</li>
+ * </ul>
+ * </p>
+ */
+public class CodecBinarioTarefas implements ICacheCodec {
+
+    public static final byte VERSAO = 1;
+
+    // Flags dos campos opcionais da tarefa
+    private static final int TEM_ID = 1;
+    private static final int TEM_TITULO = 1 << 1;
+    private static final int TEM_DESCRICAO = 1 << 2;
+    private static final int TEM_CADASTRO = 1 << 3;
+    private static final int TEM_DEADLINE = 1 << 4;
+    private static final int TEM_CONCRETIZACAO = 1 << 5;
+    private static final int TEM_USUARIO = 1 << 6;
+
+    // Flags dos campos opcionais do usuário
+    private static final int USUARIO_TEM_ID = 1;
+    private static final int USUARIO_TEM_NOME = 1 << 1;
+    private static final int USUARIO_TEM_EMAIL = 1 << 2;
+
+    @Override
+    public byte[] codificar(List<Tarefa> tarefas) {
+        Escritor out = new Escritor(64 + tarefas.size() * 96);
+        out.writeByte(VERSAO);
+        out.writeVarLong(tarefas.size());
+        for (Tarefa t : tarefas) {
+            escreverTarefa(out, t);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public List<Tarefa> decodificar(byte[] dados) {
+        Leitor in = abrir(dados);
+        int quantidade = (int) in.readVarLong();
+        List<Tarefa> tarefas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            tarefas.add(lerTarefa(in));
+        }
+        return tarefas;
+    }
+
+    @Override
+    public byte[] codificarTarefa(Tarefa tarefa) {
+        Escritor out = new Escritor(96);
+        out.writeByte(VERSAO);
+        escreverTarefa(out, tarefa);
+        return out.toByteArray();
+    }
+
+    @Override
+    public Tarefa decodificarTarefa(byte[] dados) {
+        return lerTarefa(abrir(dados));
+    }
+
+    private Leitor abrir(byte[] dados) {
+        if (dados == null || dados.length == 0) {
+            throw new IllegalStateException("Cache vazio");
+        }
+        Leitor in = new Leitor(dados);
+        int versao = in.readByte();
+        if (versao != VERSAO) {
+            throw new IllegalStateException("Versão de cache desconhecida: " + versao);
+        }
+        return in;
+    }
+
+    private void escreverTarefa(Escritor out, Tarefa t) {
+        int flags = 0;
+        if (t.getId() != null)
+            flags |= TEM_ID;
+        if (t.getTitulo() != null)
+            flags |= TEM_TITULO;
+        if (t.getDescricao() != null)
+            flags |= TEM_DESCRICAO;
+        if (t.getDataCadastro() != null)
+            flags |= TEM_CADASTRO;
+        if (t.getDeadline() != null)
+            flags |= TEM_DEADLINE;
+        if (t.getDataConcretizacao() != null)
+            flags |= TEM_CONCRETIZACAO;
+        if (t.getUsuario() != null)
+            flags |= TEM_USUARIO;
+
+        out.writeByte(flags);
+        if ((flags & TEM_ID) != 0)
+            out.writeVarLong(t.getId());
+        if ((flags & TEM_TITULO) != 0)
+            out.writeString(t.getTitulo());
+        if ((flags & TEM_DESCRICAO) != 0)
+            out.writeString(t.getDescricao());
+        if ((flags & TEM_CADASTRO) != 0)
+            out.writeDate(t.getDataCadastro());
+        if ((flags & TEM_DEADLINE) != 0)
+            out.writeDate(t.getDeadline());
+        if ((flags & TEM_CONCRETIZACAO) != 0)
+            out.writeDate(t.getDataConcretizacao());
+        out.writeLong(Double.doubleToLongBits(t.getPercentual()));
+        out.writeVarLong(zigzag(t.getPrioridade()));
+        if ((flags & TEM_USUARIO) != 0)
+            escreverUsuario(out, t.getUsuario());
+    }
+
+    private Tarefa lerTarefa(Leitor in) {
+        int flags = in.readByte();
+        Tarefa t = new Tarefa();
+        if ((flags & TEM_ID) != 0)
+            t.setId(in.readVarLong());
+        if ((flags & TEM_TITULO) != 0)
+            t.setTitulo(in.readString());
+        if ((flags & TEM_DESCRICAO) != 0)
+            t.setDescricao(in.readString());
+        if ((flags & TEM_CADASTRO) != 0)
+            t.setDataCadastro(in.readDate());
+        if ((flags & TEM_DEADLINE) != 0)
+            t.setDeadline(in.readDate());
+        if ((flags & TEM_CONCRETIZACAO) != 0)
+            t.setDataConcretizacao(in.readDate());
+        t.setPercentual(Double.longBitsToDouble(in.readLong()));
+        t.setPrioridade(unzigzag(in.readVarLong()));
+        if ((flags & TEM_USUARIO) != 0)
+            t.setUsuario(lerUsuario(in));
+        return t;
+    }
+
+    private void escreverUsuario(Escritor out, Usuario u) {
+        // getId() não inicializa o proxy LAZY do Hibernate
+        Long id = u.getId();
+        out.writeByte(id != null ? USUARIO_TEM_ID : 0);
+        if (id != null)
+            out.writeVarLong(id);
+    }
+
+    private Usuario lerUsuario(Leitor in) {
+        int flags = in.readByte();
+        Long id = (flags & USUARIO_TEM_ID) != 0 ? in.readVarLong() : null;
+        String nome = (flags & USUARIO_TEM_NOME) != 0 ? in.readString() : null;
+        String email = (flags & USUARIO_TEM_EMAIL) != 0 ? in.readString() : null;
+        Usuario u = new Usuario(nome, email, null);
+        u.setId(id);
+        return u;
+    }
+
+    private static long zigzag(int valor) {
+        return ((valor << 1) ^ (valor >> 31)) & 0xFFFFFFFFL;
+    }
+
+    private static int unzigzag(long valor) {
+        int v = (int) valor;
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /**
+     * Buffer de escrita com as primitivas do formato.
+     */
+    private static final class Escritor extends ByteArrayOutputStream {
+
+        Escritor(int capacidade) {
+            super(capacidade);
+        }
+
+        void writeByte(int b) {
+            write(b);
+        }
+
+        void writeVarLong(long valor) {
+            while ((valor & ~0x7FL) != 0) {
+                write((int) ((valor & 0x7F) | 0x80));
+                valor >>>= 7;
+            }
+            write((int) valor);
+        }
+
+        void writeInt(int v) {
+            write(v >>> 24);
+            write(v >>> 16);
+            write(v >>> 8);
+            write(v);
+        }
+
+        void writeLong(long v) {
+            writeInt((int) (v >>> 32));
+            writeInt((int) v);
+        }
+
+        void writeDate(LocalDate data) {
+            writeInt(Math.toIntExact(data.toEpochDay()));
+        }
+
+        void writeString(String s) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+    }
+
+    /**
+     * Cursor de leitura sobre o array gravado pelo {@link Escritor}.
+     */
+    private static final class Leitor {
+        private final byte[] dados;
+        private int pos;
+
+        Leitor(byte[] dados) {
+            this.dados = dados;
+        }
+
+        private void exigir(int n) {
+            if (pos + n > dados.length) {
+                throw new IllegalStateException("Cache truncado na posição " + pos);
+            }
+        }
+
+        int readByte() {
+            exigir(1);
+            return dados[pos++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long resultado = 0;
+            int shift = 0;
+            while (shift < 64) {
+                int b = readByte();
+                resultado |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return resultado;
+                }
+                shift += 7;
+            }
+            throw new IllegalStateException("Varint malformado na posição " + pos);
+        }
+
+        int readInt() {
+            exigir(4);
+            int v = ((dados[pos] & 0xFF) << 24) | ((dados[pos + 1] & 0xFF) << 16)
+                    | ((dados[pos + 2] & 0xFF) << 8) | (dados[pos + 3] & 0xFF);
+            pos += 4;
+            return v;
+        }
+
+        long readLong() {
+            long alto = readInt() & 0xFFFFFFFFL;
+            long baixo = readInt() & 0xFFFFFFFFL;
+            return (alto << 32) | baixo;
+        }
+
+        LocalDate readDate() {
+            return LocalDate.ofEpochDay(readInt());
+        }
+
+        String readString() {
+            long tamanho = readVarLong();
+            if (tamanho > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Texto grande demais: " + tamanho);
+            }
+            exigir((int) tamanho);
+            String s = new String(dados, pos, (int) tamanho, StandardCharsets.UTF_8);
+            pos += (int) tamanho;
+            return s;
+        }
+    }
+}
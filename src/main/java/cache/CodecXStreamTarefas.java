@@ -0,0 +1,59 @@
+package cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.security.AnyTypePermission;
+
+import interfaces.cache.ICacheCodec;
+import modelo.Tarefa;
+
+/**
+ * Codec legado baseado em XML (XStream).
+ * <p>
+ * Mantido como alternativa e como referência de comparação no benchmark.
+ * Serializa o grafo completo, inclusive o Usuario dono da tarefa (por isso
+ * não serve para tarefas vindas do banco, cujo Usuario é um proxy LAZY).
+ * </p>
+ */
+public class CodecXStreamTarefas implements ICacheCodec {
+
+    private final XStream xstream;
+
+    public CodecXStreamTarefas() {
+        this.xstream = new XStream();
+        // Permissões de segurança para serialização
+        this.xstream.addPermission(AnyTypePermission.ANY);
+        this.xstream.allowTypesByWildcard(new String[] { "modelo.**", "java.util.**" });
+    }
+
+    @Override
+    public byte[] codificar(List<Tarefa> tarefas) {
+        return xstream.toXML(tarefas).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Tarefa> decodificar(byte[] dados) {
+        return (List<Tarefa>) lerXml(dados);
+    }
+
+    @Override
+    public byte[] codificarTarefa(Tarefa tarefa) {
+        return xstream.toXML(tarefa).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Tarefa decodificarTarefa(byte[] dados) {
+        return (Tarefa) lerXml(dados);
+    }
+
+    private Object lerXml(byte[] dados) {
+        try {
+            return xstream.fromXML(new String(dados, StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("XML de cache inválido", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package cache;
+
+/**
+ * Política aplicada pelo TarefaRepositoryProxy ao cache após uma escrita
+ * confirmada no SQL.
+ */
+public enum PoliticaEscrita {
+    /** Descarta a lista do usuário; a próxima leitura vai ao SQL. */
+    INVALIDAR,
+    /** Aplica a alteração na lista já em cache (Redis e L1). */
+    WRITE_THROUGH;
+
+    public static final String PROPRIEDADE = "todolist.cache.politica";
+
+    /**
+     * Lê a política da propriedade de sistema {@value #PROPRIEDADE}
+     * (padrão: WRITE_THROUGH).
+     */
+    public static PoliticaEscrita configurada() {
+        String valor = System.getProperty(PROPRIEDADE, WRITE_THROUGH.name());
+        try {
+            return valueOf(valor.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.out.println("[CACHE] Política desconhecida '" + valor + "', usando WRITE_THROUGH.");
+            return WRITE_THROUGH;
+        }
+    }
+}
@@ -124,6 +124,14 @@ public class EventoService implements IEventoService {
         return repositorio.listarPorMes(mes, ano);
     }
     
+    @Override
+    public List<Evento> listarEntre(LocalDate inicio, LocalDate fim) {
+        if (inicio == null || fim == null || !inicio.isBefore(fim)) {
+            return List.of();
+        }
+        return repositorio.listarEntre(inicio, fim);
+    }
+    
     @Override
     public Evento buscarEvento(String titulo, LocalDate dataEvento) {
         return repositorio.buscarPorTituloEData(titulo, dataEvento);
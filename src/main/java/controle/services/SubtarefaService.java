@@ -1,13 +1,16 @@
 package controle.services;
 
 import modelo.Tarefa;
+import modelo.ProgressoSubtarefas;
 import modelo.Subtarefa;
 import modelo.Usuario;
 import interfaces.services.ISubtarefaService;
 import interfaces.services.ITarefaService;
 import validadores.ValidadorTarefa;
 import interfaces.repositories.ISubtarefaRepository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service responsável pela administração de subtarefas.
@@ -95,21 +98,25 @@ public class SubtarefaService implements ISubtarefaService {
         return List.of();
     }
 
+    @Override
+    public Map<Long, ProgressoSubtarefas> calcularProgresso(Collection<Long> tarefaIds) {
+        return repositorio.calcularProgresso(tarefaIds);
+    }
+
+    @Override
+    public Map<Long, List<Subtarefa>> listarPorTarefas(Collection<Long> tarefaIds) {
+        return repositorio.listarPorTarefaIds(tarefaIds);
+    }
+
     /**
-     * Recalcula a média de conclusão das subtarefas e atualiza a tarefa pai.
+     * Atualiza a tarefa pai com a média de conclusão das subtarefas. O
+     * repositório mantém soma e quantidade a cada gravação, então a leitura
+     * é O(1); a tarefa já carregada é reaproveitada e só é gravada se a
+     * média mudou.
      */
     private void recalcularMedia(Tarefa tarefa) {
-        List<Subtarefa> subs = repositorio.listarPorTarefaId(tarefa.getId());
-        if (subs.isEmpty()) {
-            servicoTarefas.atualizarPercentual(tarefa.getId(), 0.0);
-            return;
-        }
-        double soma = 0;
-        for (Subtarefa s : subs) {
-            soma += s.getPercentual();
-        }
-        double media = soma / subs.size();
-        servicoTarefas.atualizarPercentual(tarefa.getId(), media);
+        ProgressoSubtarefas progresso = repositorio.calcularProgresso(tarefa.getId());
+        servicoTarefas.atualizarPercentual(tarefa, progresso.media());
     }
 
 }
@@ -1,6 +1,9 @@
 package controle.services;
 
+import modelo.OrdemPaginacao;
+import modelo.Pagina;
 import modelo.Tarefa;
+import modelo.TarefaResumo;
 import modelo.Usuario;
 import interfaces.validators.IValidadorTarefa;
 import interfaces.repositories.ITarefaRepository;
@@ -8,8 +11,12 @@ import interfaces.services.ITarefaService;
 import builders.TarefaBuilder;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
 
 import interfaces.observer.ISubject;
 
@@ -23,6 +30,8 @@ import interfaces.observer.ISubject;
  */
 public class TarefaService implements ITarefaService, ISubject {
 
+    public static final int TAMANHO_MAXIMO_PAGINA = 200;
+
     // O Repositório aqui será, em tempo de execução, o TarefaRepositoryProxy
     private ITarefaRepository repositorio;
     private IValidadorTarefa validador;
@@ -135,6 +144,12 @@ public class TarefaService implements ITarefaService, ISubject {
         if (usuario == null)
             return new ArrayList<>();
 
+        // 0. Se o repositório souber traduzir o filtro, o banco já devolve só as candidatas
+        Optional<List<Tarefa>> candidatas = repositorio.listarPorCriterios(usuario, filtro, null);
+        if (candidatas.isPresent()) {
+            return filtro.filtrar(candidatas.get());
+        }
+
         // 1. Delega a busca de dados ao Repositório (que é o Proxy)
         // O Proxy decide transparente se retorna a lista do Redis (rápido) ou do SQL
         List<Tarefa> todasTarefas = repositorio.listarPorUsuario(usuario);
@@ -157,12 +172,59 @@ public class TarefaService implements ITarefaService, ISubject {
 
     @Override
     public List<Tarefa> listarOrdenado(interfaces.strategies.IOrdenacaoStrategy estrategia, Usuario usuario) {
+        if (usuario == null)
+            return new ArrayList<>();
+
+        // ORDER BY no banco, quando a estratégia e o repositório suportam
+        Optional<List<Tarefa>> ordenadas = repositorio.listarPorCriterios(usuario, null, estrategia);
+        if (ordenadas.isPresent()) {
+            return ordenadas.get();
+        }
+
         // Busca tudo (via Proxy)
         List<Tarefa> tarefas = listar(t -> t, usuario);
         // Ordena em memória
         return estrategia.ordenar(tarefas);
     }
 
+    @Override
+    public Pagina<Tarefa> listarPagina(Usuario usuario, OrdemPaginacao ordem, String cursor, int tamanho) {
+        if (usuario == null)
+            return new Pagina<>(new ArrayList<>(), null);
+        validarTamanhoPagina(tamanho);
+        // Cursor inválido (adulterado ou de outra ordem) vira IllegalArgumentException
+        return repositorio.listarPagina(usuario, ordem, cursor, tamanho);
+    }
+
+    @Override
+    public List<TarefaResumo> listarResumos(Usuario usuario) {
+        if (usuario == null)
+            return new ArrayList<>();
+        return repositorio.listarResumos(usuario);
+    }
+
+    @Override
+    public Set<Long> filtrarDoUsuario(Collection<Long> tarefaIds, Usuario usuario) {
+        if (usuario == null || tarefaIds == null)
+            return new HashSet<>();
+        return repositorio.filtrarDoUsuario(tarefaIds, usuario);
+    }
+
+    @Override
+    public Pagina<TarefaResumo> listarPaginaResumos(Usuario usuario, OrdemPaginacao ordem, String cursor,
+            int tamanho) {
+        if (usuario == null)
+            return new Pagina<>(new ArrayList<>(), null);
+        validarTamanhoPagina(tamanho);
+        return repositorio.listarPaginaResumos(usuario, ordem, cursor, tamanho);
+    }
+
+    private static void validarTamanhoPagina(int tamanho) {
+        if (tamanho <= 0 || tamanho > TAMANHO_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException("Tamanho de página deve estar entre 1 e " + TAMANHO_MAXIMO_PAGINA);
+        }
+    }
+
     // --- MÉTODOS OBSERVER E AUXILIARES ---
 
     @Override
@@ -187,10 +249,7 @@ public class TarefaService implements ITarefaService, ISubject {
         try {
             Tarefa tarefa = repositorio.buscarPorId(idTarefa);
             if (tarefa != null) {
-                tarefa.setPercentual(novoPercentual);
-                // O Proxy cuidará da consistência do cache aqui também
-                repositorio.salvar(tarefa);
-                notificarObservadores("Tarefa atualizada: " + tarefa.getTitulo());
+                atualizarPercentual(tarefa, novoPercentual);
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -198,15 +257,26 @@ public class TarefaService implements ITarefaService, ISubject {
     }
 
     @Override
-    public Tarefa buscarPorTitulo(String titulo, Usuario usuario) {
-        Tarefa t = repositorio.buscarPorTitulo(titulo);
-        // Validação de Segurança: Se a tarefa não for do usuário, retorna null
-        // (fingimos que não existe)
-        if (t != null && t.getUsuario() != null && usuario != null) {
-            if (!t.getUsuario().getEmail().equals(usuario.getEmail())) {
-                return null;
-            }
+    public void atualizarPercentual(Tarefa tarefa, double novoPercentual) {
+        // Editar só a descrição de uma subtarefa não muda a média: nada a gravar
+        if (Double.compare(tarefa.getPercentual(), novoPercentual) == 0)
+            return;
+        try {
+            tarefa.setPercentual(novoPercentual);
+            // O Proxy cuidará da consistência do cache aqui também
+            repositorio.salvar(tarefa);
+            notificarObservadores("Tarefa atualizada: " + tarefa.getTitulo());
+        } catch (Exception e) {
+            e.printStackTrace();
         }
-        return t;
     }
-}
\ No newline at end of file
+
+    @Override
+    public Tarefa buscarPorTitulo(String titulo, Usuario usuario) {
+        if (usuario == null)
+            return repositorio.buscarPorTitulo(titulo);
+        // Validação de Segurança: a consulta já filtra pelo dono, então tarefa
+        // de outro usuário não é encontrada (fingimos que não existe)
+        return repositorio.buscarPorTitulo(titulo, usuario);
+    }
+}
\ No newline at end of file
@@ -1,9 +1,12 @@
 package controllers;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import interfaces.services.ISubtarefaService;
 import interfaces.controllers.ISubtarefaController;
+import modelo.ProgressoSubtarefas;
 import modelo.Subtarefa;
 import modelo.Usuario;
 
@@ -87,4 +90,26 @@ public class SubtarefaController implements ISubtarefaController {
     public List<Subtarefa> listarSubtarefas(String tituloTarefa, Usuario usuario) {
         return subtarefaService.listar(tituloTarefa, usuario);
     }
+
+    /**
+     * Coordena o cálculo de progresso das subtarefas de várias tarefas.
+     * 
+     * @param tarefaIds ids das tarefas exibidas
+     * @return mapa tarefaId -> progresso
+     */
+    @Override
+    public Map<Long, ProgressoSubtarefas> progressoSubtarefas(Collection<Long> tarefaIds) {
+        return subtarefaService.calcularProgresso(tarefaIds);
+    }
+
+    /**
+     * Coordena a listagem de subtarefas de várias tarefas.
+     * 
+     * @param tarefaIds ids das tarefas exibidas
+     * @return mapa tarefaId -> subtarefas
+     */
+    @Override
+    public Map<Long, List<Subtarefa>> listarSubtarefasPorTarefas(Collection<Long> tarefaIds) {
+        return subtarefaService.listarPorTarefas(tarefaIds);
+    }
 }
\ No newline at end of file
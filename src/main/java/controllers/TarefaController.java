@@ -1,11 +1,16 @@
 package controllers;
 
+import modelo.OrdemPaginacao;
+import modelo.Pagina;
 import modelo.Tarefa;
+import modelo.TarefaResumo;
 import modelo.Usuario;
 import interfaces.services.ITarefaService;
 import interfaces.controllers.ITarefaController;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Controller simplificado que apenas delega para o Service.
@@ -51,8 +56,29 @@ public class TarefaController implements ITarefaController {
         return service.listarOrdenado(estrategia, usuario);
     }
 
+    @Override
+    public Pagina<Tarefa> listarPagina(OrdemPaginacao ordem, String cursor, int tamanho, Usuario usuario) {
+        return service.listarPagina(usuario, ordem, cursor, tamanho);
+    }
+
+    @Override
+    public List<TarefaResumo> listarResumos(Usuario usuario) {
+        return service.listarResumos(usuario);
+    }
+
+    @Override
+    public Set<Long> filtrarDoUsuario(Collection<Long> tarefaIds, Usuario usuario) {
+        return service.filtrarDoUsuario(tarefaIds, usuario);
+    }
+
+    @Override
+    public Pagina<TarefaResumo> listarPaginaResumos(OrdemPaginacao ordem, String cursor, int tamanho,
+            Usuario usuario) {
+        return service.listarPaginaResumos(usuario, ordem, cursor, tamanho);
+    }
+
     @Override
     public List<Tarefa> listar(interfaces.strategies.IFiltroStrategy estrategia, Usuario usuario) {
         return service.listar(estrategia, usuario);
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -12,21 +12,52 @@ import controllers.*;
 import repositorios.*;
 import validadores.*;
 import relatorios.GeradorDeRelatorios;
+import cache.AquecedorCache;
+import cache.BarramentoInvalidacao;
+import cache.CacheLocalTarefas;
+import cache.CanalPubSubRedis;
+import importacao.ImportadorTarefas;
 
 public class ServiceFactory {
 
+    // Cache L1 compartilhado: todos os Proxies criados aqui enxergam (e invalidam) a mesma memória
+    private static final CacheLocalTarefas CACHE_LOCAL = new CacheLocalTarefas();
+
+    // Invalidações vindas de outras instâncias (Redis Pub/Sub), assinadas na inicialização
+    private static final BarramentoInvalidacao BARRAMENTO = new BarramentoInvalidacao(new CanalPubSubRedis());
+
+    static {
+        BARRAMENTO.adicionarObservador(CACHE_LOCAL);
+        BARRAMENTO.iniciar();
+    }
+
+    public static CacheLocalTarefas obterCacheLocal() {
+        return CACHE_LOCAL;
+    }
+
     public static ITarefaService criarTarefaService() {
+        IValidadorTarefa validador = new ValidadorTarefa();
+
+        // Entrega o Proxy para o Service (O Service nem sabe que existe cache!)
+        return new TarefaService(criarRepositorioTarefas(), validador);
+    }
+
+    public static ImportadorTarefas criarImportadorTarefas() {
+        // Mesmo Proxy: cada lote gravado invalida o cache dos usuários afetados
+        return new ImportadorTarefas(criarRepositorioTarefas(), new ValidadorTarefa());
+    }
+
+    private static ITarefaRepository criarRepositorioTarefas() {
         // 1. Cria os componentes crus
         ITarefaRepository sqlRepo = new TarefaRepository();
         TarefaCacheRepository redisRepo = new TarefaCacheRepository();
 
-        // 2. Envolve o SQL com o Proxy de Cache
-        ITarefaRepository repoComCache = new TarefaRepositoryProxy(sqlRepo, redisRepo);
-
-        IValidadorTarefa validador = new ValidadorTarefa();
+        // 2. Envolve o SQL com o Proxy de Cache (L1 em memória + Redis)
+        return new TarefaRepositoryProxy(sqlRepo, redisRepo, CACHE_LOCAL, BARRAMENTO);
+    }
 
-        // 3. Entrega o Proxy para o Service (O Service nem sabe que existe cache!)
-        return new TarefaService(repoComCache, validador);
+    public static AquecedorCache criarAquecedorCache(ITarefaService tarefaService, IEventoService eventoService) {
+        return new AquecedorCache(tarefaService, eventoService);
     }
 
     public static IRelatorioService criarRelatorioService() {
@@ -75,4 +106,4 @@ public class ServiceFactory {
         IUsuarioService usuarioService = criarUsuarioService();
         return new UsuarioController(usuarioService);
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,264 @@
+package importacao;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Formatos de arquivo aceitos pelo {@link ImportadorTarefas}. Os dois são
+ * lidos uma linha por vez:
+ * <ul>
+ * <li>CSV: primeira linha é o cabeçalho, separador ";" (o mesmo do
+ * relatório exportado) ou ",". Campos podem vir entre aspas duplas;</li>
+ * <li>JSON: um objeto por linha (JSON Lines). Um array com um objeto por
+ * linha também é aceito.</li>
+ * </ul>
+ * Os nomes de coluna/chave são comparados sem acento e sem diferenciar
+ * maiúsculas ("Título" = "titulo").
+ */
+public enum FormatoImportacao {
+
+    CSV(true) {
+        @Override
+        Map<String, String> lerRegistro(String linha, Cabecalho cabecalho) {
+            List<String> valores = separarCsv(linha, cabecalho.separador);
+            if (valores.size() > cabecalho.colunas.size()) {
+                throw new IllegalArgumentException("Linha com " + valores.size() + " colunas, cabeçalho tem "
+                        + cabecalho.colunas.size());
+            }
+            Map<String, String> campos = new HashMap<>();
+            for (int i = 0; i < valores.size(); i++) {
+                campos.put(cabecalho.colunas.get(i), valores.get(i));
+            }
+            return campos;
+        }
+    },
+
+    JSON(false) {
+        @Override
+        Map<String, String> lerRegistro(String linha, Cabecalho cabecalho) {
+            String objeto = linha.trim();
+            if (objeto.startsWith("["))
+                objeto = objeto.substring(1).trim();
+            if (objeto.endsWith("]"))
+                objeto = objeto.substring(0, objeto.length() - 1).trim();
+            if (objeto.endsWith(","))
+                objeto = objeto.substring(0, objeto.length() - 1).trim();
+            if (objeto.isEmpty())
+                return null; // Linha só com "[" ou "]"
+            return new LeitorJson(objeto).lerObjeto();
+        }
+    };
+
+    private final boolean temCabecalho;
+
+    FormatoImportacao(boolean temCabecalho) {
+        this.temCabecalho = temCabecalho;
+    }
+
+    public boolean temCabecalho() {
+        return temCabecalho;
+    }
+
+    /**
+     * @param cabecalho cabeçalho lido por {@link #lerCabecalho(String)}, ou
+     *                  null nos formatos sem cabeçalho
+     * @return campos da linha pelo nome normalizado, ou null se a linha não
+     *         contém registro
+     * @throws IllegalArgumentException se a linha estiver malformada
+     */
+    abstract Map<String, String> lerRegistro(String linha, Cabecalho cabecalho);
+
+    /**
+     * Lê a linha de cabeçalho do CSV: nomes normalizados e o separador usado
+     * (vale para o arquivo inteiro).
+     */
+    Cabecalho lerCabecalho(String linha) {
+        char separador = linha.indexOf(';') >= 0 ? ';' : ',';
+        List<String> colunas = new ArrayList<>();
+        for (String c : separarCsv(linha, separador)) {
+            colunas.add(normalizarNome(c));
+        }
+        return new Cabecalho(colunas, separador);
+    }
+
+    /**
+     * Escolhe o formato pela extensão do arquivo (.csv, .json, .jsonl ou
+     * .ndjson).
+     *
+     * @throws IllegalArgumentException para outras extensões
+     */
+    public static FormatoImportacao porNomeArquivo(String nome) {
+        String minusculo = nome.toLowerCase(Locale.ROOT);
+        if (minusculo.endsWith(".csv"))
+            return CSV;
+        if (minusculo.endsWith(".json") || minusculo.endsWith(".jsonl") || minusculo.endsWith(".ndjson"))
+            return JSON;
+        throw new IllegalArgumentException("Formato não suportado (use .csv ou .json): " + nome);
+    }
+
+    static String normalizarNome(String nome) {
+        String semAcento = Normalizer.normalize(nome.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return semAcento.toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> separarCsv(String linha, char separador) {
+        List<String> valores = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"'); // "" dentro de aspas = aspas literal
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                valores.add(atual.toString().trim());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("Aspas não fechadas");
+        }
+        valores.add(atual.toString().trim());
+        return valores;
+    }
+
+    static final class Cabecalho {
+        final List<String> colunas;
+        final char separador;
+
+        Cabecalho(List<String> colunas, char separador) {
+            this.colunas = colunas;
+            this.separador = separador;
+        }
+    }
+
+    /**
+     * Leitor mínimo de um objeto JSON "plano" (valores texto, número,
+     * booleano ou null). Objetos e arrays aninhados não são aceitos.
+     */
+    private static final class LeitorJson {
+        private final String texto;
+        private int pos;
+
+        LeitorJson(String texto) {
+            this.texto = texto;
+        }
+
+        Map<String, String> lerObjeto() {
+            Map<String, String> campos = new HashMap<>();
+            esperar('{');
+            pularEspacos();
+            if (espiar() == '}') {
+                pos++;
+            } else {
+                do {
+                    pularEspacos();
+                    String chave = lerTexto();
+                    esperar(':');
+                    campos.put(normalizarNome(chave), lerValor());
+                    pularEspacos();
+                } while (consumir(','));
+                esperar('}');
+            }
+            pularEspacos();
+            if (pos != texto.length()) {
+                throw erro("conteúdo após o fim do objeto");
+            }
+            return campos;
+        }
+
+        private String lerValor() {
+            pularEspacos();
+            char c = espiar();
+            if (c == '"')
+                return lerTexto();
+            if (c == '{' || c == '[')
+                throw erro("valores aninhados não são suportados");
+            int inicio = pos;
+            while (pos < texto.length() && ",} \t".indexOf(texto.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = texto.substring(inicio, pos);
+            if (literal.isEmpty())
+                throw erro("valor ausente");
+            return "null".equals(literal) ? null : literal;
+        }
+
+        private String lerTexto() {
+            esperar('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                if (pos >= texto.length())
+                    throw erro("texto não terminado");
+                char c = texto.charAt(pos++);
+                if (c == '"')
+                    return sb.toString();
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos >= texto.length())
+                    throw erro("escape incompleto");
+                char e = texto.charAt(pos++);
+                switch (e) {
+                    case 'n' -> sb.append('\n');
+                    case 't' -> sb.append('\t');
+                    case 'r' -> sb.append('\r');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'u' -> {
+                        if (pos + 4 > texto.length())
+                            throw erro("escape \\u incompleto");
+                        sb.append((char) Integer.parseInt(texto.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    }
+                    default -> sb.append(e); // \" \\ \/
+                }
+            }
+        }
+
+        private void pularEspacos() {
+            while (pos < texto.length() && Character.isWhitespace(texto.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private char espiar() {
+            if (pos >= texto.length())
+                throw erro("fim inesperado");
+            return texto.charAt(pos);
+        }
+
+        private boolean consumir(char c) {
+            if (pos < texto.length() && texto.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void esperar(char c) {
+            pularEspacos();
+            if (!consumir(c))
+                throw erro("esperado '" + c + "'");
+        }
+
+        private IllegalArgumentException erro(String motivo) {
+            return new IllegalArgumentException("JSON inválido na coluna " + (pos + 1) + ": " + motivo);
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import builders.TarefaBuilder;
+import interfaces.observer.IObserver;
+import interfaces.observer.ISubject;
+import interfaces.repositories.ITarefaRepository;
+import interfaces.validators.IValidadorTarefa;
+import modelo.Tarefa;
+import modelo.Usuario;
+
+/**
+ * Importa tarefas de um arquivo CSV ou JSON (ver {@link FormatoImportacao}).
+ * <p>
+ * O arquivo é lido linha a linha; cada registro é validado com o
+ * {@link IValidadorTarefa}, montado pelo {@link TarefaBuilder} e acumulado
+ * em lotes. Uma thread separada grava cada lote numa transação
+ * ({@link ITarefaRepository#salvarTodos}) enquanto a leitura continua. A fila
+ * entre as duas tem {@value #LOTES_EM_ESPERA} lugares: se o banco ficar para
+ * trás, a leitura espera (backpressure), então a memória usada não depende do
+ * tamanho do arquivo.
+ * </p>
+ * <p>
+ * Registros inválidos não interrompem a importação: entram como erro da linha
+ * no {@link ResultadoImportacao}. Se a gravação de um lote falhar, suas
+ * tarefas são regravadas uma a uma para isolar a que causou o erro. Lotes já
+ * gravados não são desfeitos.
+ * </p>
+ * <p>
+ * Os observadores recebem o {@link ResultadoImportacao} após cada lote
+ * gravado (na thread de gravação) e uma última vez ao concluir.
+ * </p>
+ */
+public class ImportadorTarefas implements ISubject {
+
+    public static final int TAMANHO_LOTE_PADRAO = 50;
+    public static final int LOTES_EM_ESPERA = 2;
+
+    // Mesmos limites das colunas de "tarefas" e das telas de cadastro/edição
+    private static final int TAMANHO_MAXIMO_TITULO = 100;
+    private static final int TAMANHO_MAXIMO_DESCRICAO = 500;
+    private static final int PRIORIDADE_MINIMA = 1;
+    private static final int PRIORIDADE_MAXIMA = 5;
+
+    private static final DateTimeFormatter DATA_BR = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final long ESPERA_FILA_MS = 100;
+
+    private final ITarefaRepository repositorio;
+    private final IValidadorTarefa validador;
+    private final int tamanhoLote;
+    private final List<IObserver> observadores = new CopyOnWriteArrayList<>();
+
+    public ImportadorTarefas(ITarefaRepository repositorio, IValidadorTarefa validador) {
+        this(repositorio, validador, TAMANHO_LOTE_PADRAO);
+    }
+
+    public ImportadorTarefas(ITarefaRepository repositorio, IValidadorTarefa validador, int tamanhoLote) {
+        if (tamanhoLote <= 0) {
+            throw new IllegalArgumentException("Tamanho do lote deve ser positivo");
+        }
+        this.repositorio = repositorio;
+        this.validador = validador;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Importa o arquivo para o usuário. O formato vem da extensão.
+     *
+     * @throws IOException              se o arquivo não puder ser lido (os
+     *                                  lotes lidos até o erro são gravados)
+     * @throws IllegalArgumentException se a extensão não for suportada ou o
+     *                                  cabeçalho do CSV não tiver as colunas
+     *                                  obrigatórias
+     */
+    public ResultadoImportacao importar(Path arquivo, Usuario usuario) throws IOException {
+        FormatoImportacao formato = FormatoImportacao.porNomeArquivo(arquivo.getFileName().toString());
+        try (BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            return importar(leitor, formato, usuario);
+        }
+    }
+
+    public ResultadoImportacao importar(BufferedReader leitor, FormatoImportacao formato, Usuario usuario)
+            throws IOException {
+        if (usuario == null) {
+            throw new IllegalArgumentException("Usuário obrigatório para importar tarefas");
+        }
+        ResultadoImportacao resultado = new ResultadoImportacao();
+        BlockingQueue<Lote> fila = new ArrayBlockingQueue<>(LOTES_EM_ESPERA);
+        Thread gravador = new Thread(() -> gravarLotes(fila, resultado), "importacao-tarefas");
+        gravador.setDaemon(true);
+        gravador.start();
+        try {
+            lerRegistros(leitor, formato, usuario, fila, resultado, gravador);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Cancelada: lotes ainda na fila são descartados
+        } finally {
+            encerrarGravador(fila, gravador);
+        }
+        resultado.concluir();
+        notificarObservadores(resultado);
+        return resultado;
+    }
+
+    private void lerRegistros(BufferedReader leitor, FormatoImportacao formato, Usuario usuario,
+            BlockingQueue<Lote> fila, ResultadoImportacao resultado, Thread gravador)
+            throws IOException, InterruptedException {
+        FormatoImportacao.Cabecalho cabecalho = null;
+        Lote lote = new Lote(tamanhoLote);
+        long numeroLinha = 0;
+        String linha;
+        while ((linha = leitor.readLine()) != null) {
+            numeroLinha++;
+            if (numeroLinha == 1 && linha.startsWith("\uFEFF")) {
+                linha = linha.substring(1); // BOM gravado pelo relatório CSV
+            }
+            if (linha.isBlank()) {
+                continue;
+            }
+            if (formato.temCabecalho() && cabecalho == null) {
+                cabecalho = formato.lerCabecalho(linha);
+                exigirColunas(cabecalho);
+                continue;
+            }
+            boolean contada = false;
+            try {
+                Map<String, String> campos = formato.lerRegistro(linha, cabecalho);
+                if (campos == null) {
+                    continue;
+                }
+                resultado.registrarLeitura();
+                contada = true;
+                lote.adicionar(numeroLinha, montarTarefa(campos, usuario));
+            } catch (RuntimeException e) {
+                if (!contada) {
+                    resultado.registrarLeitura();
+                }
+                resultado.registrarErro(numeroLinha, e.getMessage());
+            }
+            if (lote.tamanho() == tamanhoLote) {
+                enfileirar(fila, lote, gravador);
+                lote = new Lote(tamanhoLote);
+            }
+        }
+        if (lote.tamanho() > 0) {
+            enfileirar(fila, lote, gravador);
+        }
+    }
+
+    private static void exigirColunas(FormatoImportacao.Cabecalho cabecalho) {
+        if (!cabecalho.colunas.contains("titulo")
+                || !(cabecalho.colunas.contains("deadline") || cabecalho.colunas.contains("prazo"))) {
+            throw new IllegalArgumentException("Cabeçalho deve ter as colunas Título e Deadline");
+        }
+    }
+
+    private Tarefa montarTarefa(Map<String, String> campos, Usuario usuario) {
+        String titulo = campos.get("titulo");
+        String descricao = campos.get("descricao");
+        if (!validador.validarTitulo(titulo)) {
+            throw new IllegalArgumentException("Título vazio");
+        }
+        if (titulo.trim().length() > TAMANHO_MAXIMO_TITULO) {
+            throw new IllegalArgumentException("Título com mais de " + TAMANHO_MAXIMO_TITULO + " caracteres");
+        }
+        if (descricao != null && descricao.trim().length() > TAMANHO_MAXIMO_DESCRICAO) {
+            throw new IllegalArgumentException("Descrição com mais de " + TAMANHO_MAXIMO_DESCRICAO + " caracteres");
+        }
+        String prazo = campos.containsKey("deadline") ? campos.get("deadline") : campos.get("prazo");
+        int prioridade = lerPrioridade(campos.get("prioridade"));
+        double percentual = lerPercentual(campos.get("percentual"));
+
+        Tarefa tarefa = new TarefaBuilder()
+                .comTitulo(titulo)
+                .comDescricao(descricao)
+                .comPrazo(lerData(prazo))
+                .comPrioridade(prioridade)
+                .comPercentual(percentual)
+                .construir();
+        tarefa.setUsuario(usuario);
+
+        if (!validador.validarTarefa(tarefa)) {
+            throw new IllegalArgumentException("Tarefa inválida");
+        }
+        return tarefa;
+    }
+
+    private static LocalDate lerData(String texto) {
+        if (texto == null || texto.isBlank()) {
+            throw new IllegalArgumentException("Deadline vazio");
+        }
+        String valor = texto.trim();
+        try {
+            return valor.contains("/") ? LocalDate.parse(valor, DATA_BR) : LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Deadline inválido (use dd/MM/yyyy ou yyyy-MM-dd): " + valor);
+        }
+    }
+
+    private static int lerPrioridade(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return PRIORIDADE_MINIMA;
+        }
+        try {
+            int prioridade = Integer.parseInt(texto.trim());
+            if (prioridade < PRIORIDADE_MINIMA || prioridade > PRIORIDADE_MAXIMA) {
+                throw new IllegalArgumentException("Prioridade fora de " + PRIORIDADE_MINIMA + " a "
+                        + PRIORIDADE_MAXIMA + ": " + prioridade);
+            }
+            return prioridade;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Prioridade inválida: " + texto.trim());
+        }
+    }
+
+    private static double lerPercentual(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return 0.0;
+        }
+        String valor = texto.trim().replace("%", "").replace(',', '.'); // Relatório usa vírgula decimal
+        try {
+            double percentual = Double.parseDouble(valor);
+            if (percentual < 0.0 || percentual > 100.0) {
+                throw new IllegalArgumentException("Percentual fora de 0 a 100: " + texto.trim());
+            }
+            return percentual;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Percentual inválido: " + texto.trim());
+        }
+    }
+
+    // Espera lugar na fila; se a gravação morreu, não adianta continuar lendo
+    private static void enfileirar(BlockingQueue<Lote> fila, Lote lote, Thread gravador)
+            throws InterruptedException {
+        while (!fila.offer(lote, ESPERA_FILA_MS, TimeUnit.MILLISECONDS)) {
+            if (!gravador.isAlive()) {
+                throw new IllegalStateException("Gravação da importação interrompida");
+            }
+        }
+    }
+
+    private static void encerrarGravador(BlockingQueue<Lote> fila, Thread gravador) {
+        try {
+            if (Thread.currentThread().isInterrupted()) {
+                gravador.interrupt();
+                return;
+            }
+            enfileirar(fila, Lote.FIM, gravador);
+            gravador.join();
+        } catch (InterruptedException e) {
+            gravador.interrupt();
+            Thread.currentThread().interrupt();
+        } catch (IllegalStateException e) {
+            // Gravador já terminou: nada a esperar
+        }
+    }
+
+    private void gravarLotes(BlockingQueue<Lote> fila, ResultadoImportacao resultado) {
+        try {
+            while (true) {
+                Lote lote = fila.take();
+                if (lote == Lote.FIM) {
+                    return;
+                }
+                gravar(lote, resultado);
+                notificarObservadores(resultado);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void gravar(Lote lote, ResultadoImportacao resultado) {
+        try {
+            repositorio.salvarTodos(lote.tarefas);
+            resultado.registrarImportadas(lote.tamanho());
+            return;
+        } catch (RuntimeException e) {
+            System.out.println("[IMPORTACAO] Falha no lote (linhas " + lote.linhas.get(0) + " a "
+                    + lote.linhas.get(lote.tamanho() - 1) + "), gravando uma a uma: " + e.getMessage());
+        }
+        for (int i = 0; i < lote.tamanho(); i++) {
+            Tarefa tarefa = lote.tarefas.get(i);
+            tarefa.setId(null); // Id reservado na transação desfeita
+            try {
+                repositorio.salvar(tarefa);
+                resultado.registrarImportadas(1);
+            } catch (RuntimeException e) {
+                resultado.registrarErro(lote.linhas.get(i), "Falha ao gravar: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void adicionarObservador(IObserver observer) {
+        observadores.add(observer);
+    }
+
+    @Override
+    public void removerObservador(IObserver observer) {
+        observadores.remove(observer);
+    }
+
+    @Override
+    public void notificarObservadores(Object mensagem) {
+        for (IObserver observer : observadores) {
+            observer.atualizar(mensagem);
+        }
+    }
+
+    /**
+     * Tarefas válidas de um trecho do arquivo e a linha de origem de cada uma.
+     */
+    private static final class Lote {
+        static final Lote FIM = new Lote(0); // Marca o fim do arquivo na fila
+
+        final List<Tarefa> tarefas;
+        final List<Long> linhas;
+
+        Lote(int capacidade) {
+            this.tarefas = new ArrayList<>(capacidade);
+            this.linhas = new ArrayList<>(capacidade);
+        }
+
+        void adicionar(long linha, Tarefa tarefa) {
+            linhas.add(linha);
+            tarefas.add(tarefa);
+        }
+
+        int tamanho() {
+            return tarefas.size();
+        }
+    }
+}
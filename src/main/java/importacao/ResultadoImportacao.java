@@ -0,0 +1,112 @@
+package importacao;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Andamento e resultado de uma importação de tarefas.
+ * <p>
+ * O mesmo objeto é enviado aos observadores a cada lote gravado (progresso)
+ * e devolvido no fim. Guarda no máximo {@value #LIMITE_ERROS} erros
+ * detalhados, para um arquivo inteiro inválido não ocupar memória
+ * proporcional ao tamanho; os demais são apenas contados.
+ * </p>
+ */
+public class ResultadoImportacao {
+
+    public static final int LIMITE_ERROS = 1_000;
+
+    private long registrosLidos;
+    private long importadas;
+    private long rejeitadas;
+    private boolean concluida;
+    private final List<Erro> erros = new ArrayList<>();
+
+    synchronized void registrarLeitura() {
+        registrosLidos++;
+    }
+
+    synchronized void registrarImportadas(int quantidade) {
+        importadas += quantidade;
+    }
+
+    synchronized void registrarErro(long linha, String mensagem) {
+        rejeitadas++;
+        if (erros.size() < LIMITE_ERROS) {
+            erros.add(new Erro(linha, mensagem));
+        }
+    }
+
+    synchronized void concluir() {
+        concluida = true;
+    }
+
+    public synchronized long getRegistrosLidos() {
+        return registrosLidos;
+    }
+
+    public synchronized long getImportadas() {
+        return importadas;
+    }
+
+    public synchronized long getRejeitadas() {
+        return rejeitadas;
+    }
+
+    /** Registros lidos que ainda aguardam gravação. */
+    public synchronized long getPendentes() {
+        return registrosLidos - importadas - rejeitadas;
+    }
+
+    public synchronized boolean isConcluida() {
+        return concluida;
+    }
+
+    /**
+     * Cópia dos erros detalhados, ordenados pela linha (leitura e gravação
+     * registram erros em threads diferentes).
+     */
+    public synchronized List<Erro> getErros() {
+        List<Erro> copia = new ArrayList<>(erros);
+        copia.sort(Comparator.comparingLong(Erro::getLinha));
+        return copia;
+    }
+
+    /** Erros contados em {@link #getRejeitadas()} mas sem detalhe guardado. */
+    public synchronized long getErrosOmitidos() {
+        return rejeitadas - erros.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("Importacao{lidos=%d, importadas=%d, rejeitadas=%d, concluida=%s}",
+                registrosLidos, importadas, rejeitadas, concluida);
+    }
+
+    /**
+     * Registro rejeitado: linha do arquivo (a partir de 1) e motivo.
+     */
+    public static final class Erro {
+        private final long linha;
+        private final String mensagem;
+
+        Erro(long linha, String mensagem) {
+            this.linha = linha;
+            this.mensagem = mensagem;
+        }
+
+        public long getLinha() {
+            return linha;
+        }
+
+        public String getMensagem() {
+            return mensagem;
+        }
+
+        @Override
+        public String toString() {
+            return "Linha " + linha + ": " + mensagem;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package interfaces.cache;
+
+import java.util.List;
+
+import modelo.Tarefa;
+
+/**
+ * Interface Strategy para serialização das tarefas em cache.
+ * <p>
+ * Permite trocar o formato gravado no Redis (XML, binário, etc.) sem
+ * alterar o TarefaCacheRepository nem o Proxy.
+ * </p>
+ */
+public interface ICacheCodec {
+
+    /**
+     * Serializa uma lista de tarefas para gravação no cache.
+     * 
+     * @param tarefas lista a ser serializada
+     * @return bytes prontos para o Redis
+     */
+    byte[] codificar(List<Tarefa> tarefas);
+
+    /**
+     * Reconstrói a lista de tarefas a partir dos bytes lidos do cache.
+     * 
+     * @param dados bytes gravados por {@link #codificar(List)}
+     * @return lista de tarefas
+     * @throws IllegalStateException se os dados estiverem em formato
+     *                               desconhecido ou corrompidos
+     */
+    List<Tarefa> decodificar(byte[] dados);
+
+    /**
+     * Serializa uma única tarefa (um campo do hash do usuário no Redis).
+     * 
+     * @param tarefa tarefa a ser serializada
+     * @return bytes prontos para o Redis
+     */
+    byte[] codificarTarefa(Tarefa tarefa);
+
+    /**
+     * Reconstrói uma tarefa gravada por {@link #codificarTarefa(Tarefa)}.
+     * 
+     * @param dados bytes lidos do cache
+     * @return a tarefa
+     * @throws IllegalStateException se os dados estiverem em formato
+     *                               desconhecido ou corrompidos
+     */
+    Tarefa decodificarTarefa(byte[] dados);
+}
@@ -0,0 +1,36 @@
+package interfaces.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal de publicação/assinatura usado pelo barramento de invalidação.
+ * <p>
+ * Abstrai o transporte (Redis Pub/Sub em produção, memória nos testes),
+ * seguindo o princípio DIP.
+ * </p>
+ */
+public interface ICanalPubSub {
+
+    /**
+     * Publica uma mensagem para todos os assinantes do canal.
+     * 
+     * @param canal    nome do canal
+     * @param mensagem conteúdo da mensagem
+     */
+    void publicar(String canal, String mensagem);
+
+    /**
+     * Assina o canal em segundo plano.
+     * 
+     * @param canal       nome do canal
+     * @param receptor    chamado a cada mensagem recebida
+     * @param aoConectar  chamado a cada (re)conexão; mensagens perdidas
+     *                    enquanto desconectado não são reenviadas
+     */
+    void assinar(String canal, Consumer<String> receptor, Runnable aoConectar);
+
+    /**
+     * Encerra a assinatura e libera a conexão.
+     */
+    void fechar();
+}
@@ -1,8 +1,11 @@
 package interfaces.controllers;
 
 import modelo.Usuario;
+import modelo.ProgressoSubtarefas;
 import modelo.Subtarefa;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface para controller de subtarefas.
@@ -62,4 +65,20 @@ public interface ISubtarefaController {
      * @return lista de subtarefas da tarefa
      */
     List<Subtarefa> listarSubtarefas(String tituloTarefa, Usuario usuario);
+
+    /**
+     * Coordena o cálculo de progresso das subtarefas de várias tarefas.
+     * 
+     * @param tarefaIds ids das tarefas exibidas
+     * @return mapa tarefaId -> progresso
+     */
+    Map<Long, ProgressoSubtarefas> progressoSubtarefas(Collection<Long> tarefaIds);
+
+    /**
+     * Coordena a listagem de subtarefas de várias tarefas.
+     * 
+     * @param tarefaIds ids das tarefas exibidas
+     * @return mapa tarefaId -> subtarefas
+     */
+    Map<Long, List<Subtarefa>> listarSubtarefasPorTarefas(Collection<Long> tarefaIds);
 }
\ No newline at end of file
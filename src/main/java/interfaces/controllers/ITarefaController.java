@@ -1,9 +1,14 @@
 package interfaces.controllers;
 
+import modelo.OrdemPaginacao;
+import modelo.Pagina;
 import modelo.Tarefa;
+import modelo.TarefaResumo;
 import modelo.Usuario;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface ITarefaController {
     boolean adicionarTarefa(String titulo, String descricao, LocalDate deadline, int prioridade, Usuario usuario);
@@ -18,6 +23,33 @@ public interface ITarefaController {
 
     List<Tarefa> listarOrdenado(interfaces.strategies.IOrdenacaoStrategy estrategia, Usuario usuario);
 
+    /**
+     * Lista uma página das tarefas do usuário.
+     * 
+     * @param ordem   ordem da listagem
+     * @param cursor  token devolvido pela página anterior, ou null para a primeira
+     * @param tamanho quantidade máxima de tarefas
+     * @param usuario usuário dono das tarefas
+     * @return a página, com o cursor da próxima (se houver)
+     */
+    Pagina<Tarefa> listarPagina(OrdemPaginacao ordem, String cursor, int tamanho, Usuario usuario);
+
+    /**
+     * Resumos de todas as tarefas do usuário, para telas de listagem.
+     */
+    List<TarefaResumo> listarResumos(Usuario usuario);
+
+    /**
+     * Dos ids informados, só os das tarefas do usuário.
+     */
+    Set<Long> filtrarDoUsuario(Collection<Long> tarefaIds, Usuario usuario);
+
+    /**
+     * Igual a {@link #listarPagina}, mas com resumos em vez das tarefas
+     * completas.
+     */
+    Pagina<TarefaResumo> listarPaginaResumos(OrdemPaginacao ordem, String cursor, int tamanho, Usuario usuario);
+
     /**
      * Lista tarefas usando uma estratégia de filtragem.
      * 
@@ -26,4 +58,4 @@ public interface ITarefaController {
      * @return lista de tarefas filtradas
      */
     List<Tarefa> listar(interfaces.strategies.IFiltroStrategy estrategia, Usuario usuario);
-}
\ No newline at end of file
+}
\ No newline at end of file
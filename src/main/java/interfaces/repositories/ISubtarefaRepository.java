@@ -1,7 +1,13 @@
 package interfaces.repositories;
 
+import modelo.ProgressoSubtarefas;
 import modelo.Subtarefa;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public interface ISubtarefaRepository {
     void salvar(Subtarefa subtarefa);
@@ -11,4 +17,53 @@ public interface ISubtarefaRepository {
     List<Subtarefa> listarPorTarefaId(Long tarefaId);
 
     Subtarefa buscarPorTitulo(String titulo, Long tarefaId);
+
+    /**
+     * Subtarefas de várias tarefas de uma vez (telas que mostram muitas
+     * tarefas). A implementação padrão faz uma consulta por tarefa;
+     * repositórios com banco devem usar uma consulta só.
+     *
+     * @return mapa tarefaId -> subtarefas, com lista vazia para as tarefas
+     *         sem subtarefas, na ordem dos ids recebidos
+     */
+    default Map<Long, List<Subtarefa>> listarPorTarefaIds(Collection<Long> tarefaIds) {
+        Map<Long, List<Subtarefa>> resultado = new LinkedHashMap<>();
+        for (Long id : tarefaIds)
+            resultado.put(id, listarPorTarefaId(id));
+        return resultado;
+    }
+
+    /**
+     * Quantidade e média de conclusão das subtarefas da tarefa. A
+     * implementação padrão carrega as subtarefas; repositórios com banco
+     * devem calcular no servidor.
+     */
+    default ProgressoSubtarefas calcularProgresso(Long tarefaId) {
+        List<Subtarefa> subs = listarPorTarefaId(tarefaId);
+        if (subs.isEmpty())
+            return ProgressoSubtarefas.VAZIO;
+        double soma = 0;
+        long concluidas = 0;
+        for (Subtarefa s : subs) {
+            soma += s.getPercentual();
+            if (ProgressoSubtarefas.concluida(s.getPercentual()))
+                concluidas++;
+        }
+        return new ProgressoSubtarefas(subs.size(), concluidas, soma / subs.size());
+    }
+
+    /**
+     * Progresso de várias tarefas de uma vez (telas de listagem).
+     *
+     * @return mapa tarefaId -> progresso; tarefas sem subtarefas ficam fora
+     */
+    default Map<Long, ProgressoSubtarefas> calcularProgresso(Collection<Long> tarefaIds) {
+        Map<Long, ProgressoSubtarefas> progresso = new HashMap<>();
+        for (Long id : tarefaIds) {
+            ProgressoSubtarefas p = calcularProgresso(id);
+            if (p.quantidade() > 0)
+                progresso.put(id, p);
+        }
+        return progresso;
+    }
 }
@@ -1,9 +1,21 @@
 package interfaces.repositories;
 
+import modelo.CursorTarefa;
+import modelo.OrdemPaginacao;
+import modelo.Pagina;
 import modelo.Tarefa;
+import modelo.TarefaResumo;
 import modelo.Usuario;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import interfaces.strategies.IFiltroStrategy;
+import interfaces.strategies.IOrdenacaoStrategy;
 
 
  /*
@@ -14,16 +26,106 @@ import java.util.List;
 
 public interface ITarefaRepository {
     void salvar(Tarefa tarefa);
+
+    /**
+     * Salva várias tarefas (novas ou existentes) de uma vez.
+     * A implementação padrão chama {@link #salvar(Tarefa)} para cada uma;
+     * repositórios de banco devem sobrescrever usando uma única transação e
+     * inserts/updates em lote.
+     */
+    default void salvarTodos(Collection<Tarefa> tarefas) {
+        for (Tarefa t : tarefas) {
+            salvar(t);
+        }
+    }
+
     void remover(Tarefa tarefa);
     void atualizar(Tarefa antiga, Tarefa nova);
     Tarefa buscarPorTitulo(String titulo);
+
+    /**
+     * Busca a tarefa pelo título entre as do usuário.
+     * A implementação padrão filtra o resultado de
+     * {@link #buscarPorTitulo(String)} pelo id do dono.
+     */
+    default Tarefa buscarPorTitulo(String titulo, Usuario usuario) {
+        Tarefa t = buscarPorTitulo(titulo);
+        if (t != null && t.getUsuario() != null && !Objects.equals(t.getUsuario().getId(), usuario.getId())) {
+            return null;
+        }
+        return t;
+    }
     Tarefa buscarPorId(Long id);
     
     // --- Métodos Filtrados por Usuário ---
     List<Tarefa> listarPorUsuario(Usuario usuario);
     List<Tarefa> listarPorDataEUsuario(LocalDate data, Usuario usuario);
+
+    /**
+     * Lista as tarefas do usuário com o filtro e/ou a ordenação traduzidos
+     * para uma única consulta (ver {@code paraCriteria} das Strategies).
+     * 
+     * @param filtro    filtro a levar ao banco, ou null
+     * @param ordenacao ordenação a levar ao banco, ou null
+     * @return vazio se o repositório ou alguma das estratégias não suportar a
+     *         tradução; quem chama deve então filtrar/ordenar em memória
+     */
+    default Optional<List<Tarefa>> listarPorCriterios(Usuario usuario, IFiltroStrategy filtro,
+            IOrdenacaoStrategy ordenacao) {
+        return Optional.empty();
+    }
+
+    /**
+     * Lista uma página das tarefas do usuário (paginação por chave).
+     * A implementação padrão pagina em memória; repositórios de banco devem
+     * sobrescrever com uma consulta que busque só a página.
+     *
+     * @param cursor  token da página anterior, ou null para a primeira
+     * @param tamanho quantidade máxima de tarefas na página
+     */
+    default Pagina<Tarefa> listarPagina(Usuario usuario, OrdemPaginacao ordem, String cursor, int tamanho) {
+        CursorTarefa inicio = cursor != null ? CursorTarefa.decodificar(cursor, ordem) : null;
+        List<Tarefa> restantes = listarPorUsuario(usuario).stream()
+                .filter(t -> inicio == null || inicio.antecede(t))
+                .sorted(ordem.getComparador())
+                .limit(tamanho + 1L)
+                .collect(Collectors.toList());
+        return CursorTarefa.montarPagina(restantes, tamanho, ordem);
+    }
+
+    /**
+     * Resumos (só os campos exibidos na listagem) das tarefas do usuário.
+     * A implementação padrão converte {@link #listarPorUsuario(Usuario)};
+     * repositórios de banco devem sobrescrever com uma projeção.
+     */
+    default List<TarefaResumo> listarResumos(Usuario usuario) {
+        return listarPorUsuario(usuario).stream().map(TarefaResumo::de).collect(Collectors.toList());
+    }
+
+    /**
+     * Dos ids informados, devolve só os de tarefas do usuário.
+     * A implementação padrão compara com {@link #listarResumos(Usuario)};
+     * repositórios de banco devem sobrescrever consultando só esses ids.
+     */
+    default Set<Long> filtrarDoUsuario(Collection<Long> tarefaIds, Usuario usuario) {
+        if (tarefaIds.isEmpty())
+            return Collections.emptySet();
+        Set<Long> proprias = listarResumos(usuario).stream().map(TarefaResumo::id).collect(Collectors.toSet());
+        return tarefaIds.stream().filter(proprias::contains).collect(Collectors.toSet());
+    }
+
+    /**
+     * Igual a {@link #listarPagina}, mas com resumos. O cursor é o mesmo
+     * das páginas de tarefas completas.
+     */
+    default Pagina<TarefaResumo> listarPaginaResumos(Usuario usuario, OrdemPaginacao ordem, String cursor,
+            int tamanho) {
+        Pagina<Tarefa> pagina = listarPagina(usuario, ordem, cursor, tamanho);
+        List<TarefaResumo> resumos = pagina.getItens().stream().map(TarefaResumo::de).collect(Collectors.toList());
+        return new Pagina<>(resumos, pagina.getProximoCursor());
+    }
     
     // Métodos legados
     List<Tarefa> listarTodas(); 
     List<Tarefa> listarPorData(LocalDate data);
-}
\ No newline at end of file
+}
\ No newline at end of file
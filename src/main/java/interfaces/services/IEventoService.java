@@ -75,6 +75,15 @@ public interface IEventoService {
      */
     List<Evento> listarPorMes(int mes, int ano);
     
+    /**
+     * Lista eventos de um intervalo de datas.
+     * 
+     * @param inicio primeira data do intervalo (inclusiva)
+     * @param fim data final do intervalo (exclusiva)
+     * @return eventos do intervalo, ordenados por data
+     */
+    List<Evento> listarEntre(LocalDate inicio, LocalDate fim);
+    
     /**
      * Busca um evento pelo título e data.
      * 
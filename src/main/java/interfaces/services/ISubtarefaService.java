@@ -1,7 +1,10 @@
 package interfaces.services;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
+import modelo.ProgressoSubtarefas;
 import modelo.Subtarefa;
 import modelo.Usuario;
 
@@ -61,4 +64,21 @@ public interface ISubtarefaService {
      * @return lista de subtarefas ou lista vazia se não houver subtarefas
      */
     List<Subtarefa> listar(String tituloTarefa, Usuario usuario);
+
+    /**
+     * Calcula quantidade e média das subtarefas de várias tarefas numa só
+     * consulta (telas de listagem).
+     * 
+     * @param tarefaIds ids das tarefas exibidas
+     * @return mapa tarefaId -> progresso; tarefas sem subtarefas ficam fora
+     */
+    Map<Long, ProgressoSubtarefas> calcularProgresso(Collection<Long> tarefaIds);
+
+    /**
+     * Lista as subtarefas de várias tarefas numa só consulta.
+     * 
+     * @param tarefaIds ids das tarefas exibidas
+     * @return mapa tarefaId -> subtarefas (lista vazia se não houver)
+     */
+    Map<Long, List<Subtarefa>> listarPorTarefas(Collection<Long> tarefaIds);
 }
\ No newline at end of file
@@ -1,9 +1,14 @@
 package interfaces.services;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
+import modelo.OrdemPaginacao;
+import modelo.Pagina;
 import modelo.Tarefa;
+import modelo.TarefaResumo;
 import modelo.Usuario;
 import interfaces.observer.ISubject;
 
@@ -34,5 +39,19 @@ public interface ITarefaService extends ISubject {
 
     List<Tarefa> listarOrdenado(interfaces.strategies.IOrdenacaoStrategy estrategia, Usuario usuario);
 
+    // Paginação por chave: cursor null pede a primeira página
+    Pagina<Tarefa> listarPagina(Usuario usuario, OrdemPaginacao ordem, String cursor, int tamanho);
+
+    // Versões só leitura para as telas de listagem (ver TarefaResumo)
+    List<TarefaResumo> listarResumos(Usuario usuario);
+
+    // Validação de posse para consultas em lote por id (ex.: subtarefas de uma página)
+    Set<Long> filtrarDoUsuario(Collection<Long> tarefaIds, Usuario usuario);
+
+    Pagina<TarefaResumo> listarPaginaResumos(Usuario usuario, OrdemPaginacao ordem, String cursor, int tamanho);
+
     void atualizarPercentual(Long idTarefa, double novoPercentual);
+
+    // Para quem já tem a tarefa carregada: evita buscá-la de novo pelo id
+    void atualizarPercentual(Tarefa tarefa, double novoPercentual);
 }
\ No newline at end of file
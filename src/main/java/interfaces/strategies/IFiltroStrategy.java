@@ -1,6 +1,10 @@
 package interfaces.strategies;
 
 import java.util.List;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import modelo.Tarefa;
 
 /**
@@ -18,4 +22,20 @@ public interface IFiltroStrategy {
      * @return lista filtrada (subconjunto da original)
      */
     List<Tarefa> filtrar(List<Tarefa> tarefas);
+
+    /**
+     * Versão opcional do filtro para o banco (JPA Criteria), que deixa a
+     * consulta trazer só as tarefas candidatas.
+     * <p>
+     * O predicado pode ser mais amplo que o filtro (nunca mais restrito):
+     * o resultado do banco ainda passa por {@link #filtrar(List)}.
+     * </p>
+     * 
+     * @param cb     construtor de critérios da consulta
+     * @param tarefa raiz da consulta sobre Tarefa
+     * @return o predicado, ou null se o filtro só funciona em memória
+     */
+    default Predicate paraCriteria(CriteriaBuilder cb, Root<Tarefa> tarefa) {
+        return null;
+    }
 }
@@ -1,6 +1,10 @@
 package interfaces.strategies;
 
 import java.util.List;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Root;
 import modelo.Tarefa;
 
 /**
@@ -18,4 +22,16 @@ public interface IOrdenacaoStrategy {
      * @return nova lista ordenada
      */
     List<Tarefa> ordenar(List<Tarefa> tarefas);
+
+    /**
+     * Versão opcional da ordenação para o banco (ORDER BY via JPA Criteria).
+     * Deve produzir a mesma ordem que {@link #ordenar(List)}.
+     * 
+     * @param cb     construtor de critérios da consulta
+     * @param tarefa raiz da consulta sobre Tarefa
+     * @return as ordenações, ou null se a estratégia só funciona em memória
+     */
+    default List<Order> paraCriteria(CriteriaBuilder cb, Root<Tarefa> tarefa) {
+        return null;
+    }
 }
@@ -0,0 +1,119 @@
+package modelo;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Posição na listagem paginada: a chave (campo da ordem, id) da última
+ * tarefa entregue. A próxima página começa logo depois dela.
+ * <p>
+ * Vai para a tela como um token opaco (Base64), que deve ser devolvido sem
+ * alterações para pedir a página seguinte.
+ * </p>
+ */
+public final class CursorTarefa {
+
+    private final OrdemPaginacao ordem;
+    private final LocalDate deadline;
+    private final int prioridade;
+    private final long id;
+
+    private CursorTarefa(OrdemPaginacao ordem, LocalDate deadline, int prioridade, long id) {
+        this.ordem = ordem;
+        this.deadline = deadline;
+        this.prioridade = prioridade;
+        this.id = id;
+    }
+
+    /**
+     * Cursor posicionado logo após a tarefa informada.
+     */
+    public static CursorTarefa apos(Tarefa ultima, OrdemPaginacao ordem) {
+        return new CursorTarefa(ordem, ultima.getDeadline(), ultima.getPrioridade(), ultima.getId());
+    }
+
+    public static CursorTarefa apos(TarefaResumo ultima, OrdemPaginacao ordem) {
+        return new CursorTarefa(ordem, ultima.deadline(), ultima.prioridade(), ultima.id());
+    }
+
+    /**
+     * Monta a página a partir de uma consulta que pediu {@code tamanho + 1}
+     * tarefas: a sobra indica que existe página seguinte.
+     */
+    public static Pagina<Tarefa> montarPagina(List<Tarefa> consultadas, int tamanho, OrdemPaginacao ordem) {
+        return montar(consultadas, tamanho, t -> apos(t, ordem));
+    }
+
+    public static Pagina<TarefaResumo> montarPaginaResumos(List<TarefaResumo> consultadas, int tamanho,
+            OrdemPaginacao ordem) {
+        return montar(consultadas, tamanho, r -> apos(r, ordem));
+    }
+
+    private static <T> Pagina<T> montar(List<T> consultadas, int tamanho, Function<T, CursorTarefa> cursorApos) {
+        if (consultadas.size() <= tamanho) {
+            return new Pagina<>(consultadas, null);
+        }
+        List<T> itens = consultadas.subList(0, tamanho);
+        return new Pagina<>(itens, cursorApos.apply(itens.get(tamanho - 1)).codificar());
+    }
+
+    public String codificar() {
+        String chave = ordem == OrdemPaginacao.DEADLINE ? deadline.toString() : String.valueOf(prioridade);
+        String texto = ordem.name() + ":" + chave + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token  valor devolvido por {@link #codificar()}
+     * @param ordem  ordem da listagem atual
+     * @throws IllegalArgumentException se o token for inválido ou de outra ordem
+     */
+    public static CursorTarefa decodificar(String token, OrdemPaginacao ordem) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] partes = texto.split(":");
+            if (partes.length != 3 || !ordem.name().equals(partes[0])) {
+                throw new IllegalArgumentException("Cursor não pertence à ordem " + ordem);
+            }
+            long id = Long.parseLong(partes[2]);
+            if (ordem == OrdemPaginacao.DEADLINE) {
+                return new CursorTarefa(ordem, LocalDate.parse(partes[1]), 0, id);
+            }
+            return new CursorTarefa(ordem, null, Integer.parseInt(partes[1]), id);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + token, e);
+        }
+    }
+
+    /**
+     * @return true se a tarefa vem depois do cursor na ordem dele
+     */
+    public boolean antecede(Tarefa t) {
+        Tarefa marco = new Tarefa();
+        marco.setId(id);
+        marco.setDeadline(deadline);
+        marco.setPrioridade(prioridade);
+        return ordem.getComparador().compare(marco, t) < 0;
+    }
+
+    public OrdemPaginacao getOrdem() {
+        return ordem;
+    }
+
+    public LocalDate getDeadline() {
+        return deadline;
+    }
+
+    public int getPrioridade() {
+        return prioridade;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
@@ -5,6 +5,9 @@ import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import jakarta.persistence.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 /**
  * Entidade JPA que representa um evento no sistema.
  * <p>
@@ -12,6 +15,7 @@ import jakarta.persistence.*;
  * Um evento possui título, descrição, data e local. Aplica o princípio
  * Information Expert calculando os dias restantes para o evento.
  * Constraint de unicidade na data impede conflito de eventos.
+ * Fica no cache de segundo nível do Hibernate (região "eventos").
  * </p>
  * 
  * @author Projeto ToDoList
@@ -19,10 +23,15 @@ import jakarta.persistence.*;
  * @since 2.1
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Evento.REGIAO_CACHE)
 @Table(name = "eventos")
 public class Evento implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    /** Região do cache de segundo nível (configurada em ehcache.xml). */
+    public static final String REGIAO_CACHE = "eventos";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
@@ -0,0 +1,31 @@
+package modelo;
+
+import java.util.Comparator;
+
+/**
+ * Ordens suportadas pela listagem paginada de tarefas.
+ * <p>
+ * O id entra sempre como desempate, para que a chave (campo, id) seja única
+ * e a paginação por chave (keyset) nunca repita nem pule tarefas.
+ * </p>
+ */
+public enum OrdemPaginacao {
+    /** Deadline mais próximo primeiro. */
+    DEADLINE(Comparator.comparing(Tarefa::getDeadline).thenComparing(Tarefa::getId)),
+    /** Maior prioridade primeiro. */
+    PRIORIDADE(Comparator.comparingInt(Tarefa::getPrioridade).reversed().thenComparing(Tarefa::getId));
+
+    private final Comparator<Tarefa> comparador;
+
+    OrdemPaginacao(Comparator<Tarefa> comparador) {
+        this.comparador = comparador;
+    }
+
+    /**
+     * Comparador equivalente ao ORDER BY da consulta (usado quando a
+     * paginação é feita em memória).
+     */
+    public Comparator<Tarefa> getComparador() {
+        return comparador;
+    }
+}
@@ -0,0 +1,37 @@
+package modelo;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Uma página de resultados de uma listagem paginada.
+ *
+ * @param <T> tipo dos itens
+ */
+public class Pagina<T> {
+
+    private final List<T> itens;
+    private final String proximoCursor;
+
+    /**
+     * @param itens         itens desta página
+     * @param proximoCursor token para buscar a página seguinte, ou null se
+     *                      esta for a última
+     */
+    public Pagina(List<T> itens, String proximoCursor) {
+        this.itens = Collections.unmodifiableList(itens);
+        this.proximoCursor = proximoCursor;
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public boolean temMais() {
+        return proximoCursor != null;
+    }
+}
@@ -0,0 +1,18 @@
+package modelo;
+
+/**
+ * Quantidade, concluídas e média de conclusão das subtarefas de uma tarefa,
+ * calculadas no banco (só esses números trafegam, não as subtarefas).
+ */
+public record ProgressoSubtarefas(long quantidade, long concluidas, double media) {
+
+    /** Tarefa sem subtarefas. */
+    public static final ProgressoSubtarefas VAZIO = new ProgressoSubtarefas(0, 0, 0.0);
+
+    /** Percentual a partir do qual a subtarefa conta como concluída. */
+    public static final double PERCENTUAL_CONCLUIDA = 100.0;
+
+    public static boolean concluida(double percentual) {
+        return percentual >= PERCENTUAL_CONCLUIDA;
+    }
+}
@@ -22,8 +22,11 @@ import jakarta.persistence.*;
 public class Tarefa implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    // Sequence com otimizador pooled: um nextval reserva 50 ids e permite inserts em lote
+    // (IDENTITY obriga o Hibernate a executar cada INSERT na hora para ler o id gerado)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tarefas_seq")
+    @SequenceGenerator(name = "tarefas_seq", sequenceName = "tarefas_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -48,7 +51,8 @@ public class Tarefa implements Serializable {
     @Column(name = "prioridade", nullable = false)
     private int prioridade;
 
-    @ManyToOne
+    // LAZY: as consultas por usuário já recebem o dono; as demais usam JOIN FETCH quando precisam dele
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "usuario_id", nullable = false)
     private Usuario usuario;
 
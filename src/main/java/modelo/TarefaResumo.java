@@ -0,0 +1,32 @@
+package modelo;
+
+import java.time.LocalDate;
+
+/**
+ * Visão somente leitura de uma tarefa para as telas de listagem.
+ * <p>
+ * Carregada direto pela consulta (expressão {@code SELECT new} do JPQL),
+ * sem entidade gerenciada, sem o Usuario e com a descrição cortada em
+ * {@value #TAMANHO_DESCRICAO} caracteres. Para editar, buscar a
+ * {@link Tarefa} completa.
+ * </p>
+ */
+public record TarefaResumo(Long id, String titulo, String descricao, LocalDate deadline, int prioridade,
+        double percentual) {
+
+    /** Caracteres da descrição trazidos para a listagem. */
+    public static final int TAMANHO_DESCRICAO = 80;
+
+    /**
+     * Resumo de uma tarefa já carregada (listas vindas do cache ou dos
+     * filtros em memória).
+     */
+    public static TarefaResumo de(Tarefa t) {
+        String descricao = t.getDescricao();
+        if (descricao != null && descricao.length() > TAMANHO_DESCRICAO) {
+            descricao = descricao.substring(0, TAMANHO_DESCRICAO);
+        }
+        return new TarefaResumo(t.getId(), t.getTitulo(), descricao, t.getDeadline(), t.getPrioridade(),
+                t.getPercentual());
+    }
+}
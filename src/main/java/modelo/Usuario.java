@@ -5,11 +5,19 @@ import java.util.ArrayList;
 import java.util.List;
 import jakarta.persistence.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Usuario.REGIAO_CACHE)
 @Table(name = "usuarios", uniqueConstraints = { @UniqueConstraint(columnNames = "email") })
 public class Usuario implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    /** Região do cache de segundo nível (configurada em ehcache.xml). */
+    public static final String REGIAO_CACHE = "usuarios";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -1,15 +1,28 @@
 package negocio;
 
 import modelo.Tarefa;
+import modelo.ProgressoSubtarefas;
 import modelo.Subtarefa;
 import modelo.Usuario;
 import modelo.Evento;
+import modelo.OrdemPaginacao;
+import modelo.Pagina;
+import modelo.TarefaResumo;
 import interfaces.services.*;
 import interfaces.controllers.*;
 import factories.ServiceFactory;
 import comunicacao.Mensageiro;
+import cache.AquecedorCache;
+import importacao.ImportadorTarefas;
+import importacao.ResultadoImportacao;
+import interfaces.observer.IObserver;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Collections;
 import java.util.Collections;
 import strategies.OrdenacaoPorDataStrategy;
@@ -27,6 +40,7 @@ public class ToDoList {
     private ISubtarefaController subtarefaController;
     private IEventoController eventoController;
     private IRelatorioController relatorioController;
+    private AquecedorCache aquecedor;
 
     public ToDoList() {
         this.usuarioController = ServiceFactory.criarUsuarioController();
@@ -38,11 +52,17 @@ public class ToDoList {
         this.subtarefaController = ServiceFactory.criarSubtarefaController(serviceTarefas);
         this.eventoController = ServiceFactory.criarEventoController();
         this.relatorioController = ServiceFactory.criarRelatorioController();
+        this.aquecedor = ServiceFactory.criarAquecedorCache(serviceTarefas, eventoService);
     }
 
     // Login e Usuário
     public boolean login(String email, String senha) {
-        return usuarioController.login(email, senha);
+        boolean ok = usuarioController.login(email, senha);
+        if (ok) {
+            // Carrega tarefas e eventos do mês enquanto a tela principal abre
+            aquecedor.aquecer(usuarioController.obterUsuario());
+        }
+        return ok;
     }
 
     public boolean cadastrarUsuario(String nome, String email, String senha) {
@@ -74,6 +94,24 @@ public class ToDoList {
         return tarefaController.adicionarTarefa(titulo, descricao, deadline, prioridade, usuario);
     }
 
+    /**
+     * Importa tarefas de um arquivo CSV ou JSON para o usuário logado.
+     * Bloqueia até o fim da importação; chamar fora da thread da interface.
+     * 
+     * @param progresso recebe o {@link ResultadoImportacao} a cada lote
+     *                  gravado, ou null
+     * @return null se não houver usuário logado
+     */
+    public ResultadoImportacao importarTarefas(Path arquivo, IObserver progresso) throws IOException {
+        Usuario usuario = usuarioController.obterUsuario();
+        if (usuario == null)
+            return null;
+        ImportadorTarefas importador = ServiceFactory.criarImportadorTarefas();
+        if (progresso != null)
+            importador.adicionarObservador(progresso);
+        return importador.importar(arquivo, usuario);
+    }
+
     public boolean removerTarefa(String titulo) {
         Usuario usuario = usuarioController.obterUsuario();
         return usuario != null && tarefaController.removerTarefa(titulo, usuario);
@@ -94,6 +132,17 @@ public class ToDoList {
         return Collections.emptyList();
     }
 
+    /**
+     * Resumos das tarefas do usuário logado (tela de listagem).
+     */
+    public List<TarefaResumo> listarResumosTarefas() {
+        Usuario usuario = usuarioController.obterUsuario();
+        if (usuario != null) {
+            return tarefaController.listarResumos(usuario);
+        }
+        return Collections.emptyList();
+    }
+
     public List<Tarefa> listarTarefasPorData(LocalDate data) {
         Usuario usuario = usuarioController.obterUsuario();
         if (usuario != null) {
@@ -118,6 +167,19 @@ public class ToDoList {
         return Collections.emptyList();
     }
 
+    /**
+     * Página das tarefas do usuário logado, buscada direto no banco.
+     * 
+     * @param cursor token da página anterior, ou null para a primeira
+     */
+    public Pagina<TarefaResumo> listarTarefasPaginadas(OrdemPaginacao ordem, String cursor, int tamanho) {
+        Usuario usuario = usuarioController.obterUsuario();
+        if (usuario != null) {
+            return tarefaController.listarPaginaResumos(ordem, cursor, tamanho, usuario);
+        }
+        return new Pagina<>(Collections.emptyList(), null);
+    }
+
     public List<Tarefa> listarTarefasOrdenadasPorPrioridade() {
         Usuario usuario = usuarioController.obterUsuario();
         if (usuario != null) {
@@ -168,6 +230,26 @@ public class ToDoList {
         return listarSubtarefas(tarefa.getTitulo());
     }
 
+    public Map<Long, ProgressoSubtarefas> progressoSubtarefas(Collection<Long> tarefaIds) {
+        Usuario usuario = usuarioController.obterUsuario();
+        if (usuario == null)
+            return Collections.emptyMap();
+        return subtarefaController.progressoSubtarefas(tarefasDoUsuario(tarefaIds, usuario));
+    }
+
+    public Map<Long, List<Subtarefa>> listarSubtarefasPorTarefas(Collection<Long> tarefaIds) {
+        Usuario usuario = usuarioController.obterUsuario();
+        if (usuario == null)
+            return Collections.emptyMap();
+        return subtarefaController.listarSubtarefasPorTarefas(tarefasDoUsuario(tarefaIds, usuario));
+    }
+
+    // Validação de Segurança: descarta ids de tarefas de outros usuários
+    // (consulta só os ids pedidos, não a lista inteira do usuário)
+    private Set<Long> tarefasDoUsuario(Collection<Long> tarefaIds, Usuario usuario) {
+        return tarefaController.filtrarDoUsuario(tarefaIds, usuario);
+    }
+
     public ISubtarefaService obterSubtarefaService() {
         return serviceSubs;
     }
@@ -215,4 +297,4 @@ public class ToDoList {
     public Evento buscarEvento(String titulo, LocalDate dataEvento) {
         return eventoController.buscarEvento(titulo, dataEvento);
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
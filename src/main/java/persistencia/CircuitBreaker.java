@@ -0,0 +1,129 @@
+package persistencia;
+
+/**
+ * Circuit Breaker para dependências externas opcionais (ex: Redis).
+ * <p>
+ * FECHADO: chamadas passam normalmente. Após {@code limiteFalhas} falhas
+ * consecutivas o circuito ABRE e as chamadas são recusadas na hora, sem
+ * pagar o timeout de conexão. Passado {@code tempoAbertoMs}, fica
+ * MEIO_ABERTO e libera uma única chamada de teste: sucesso fecha o
+ * circuito, falha abre de novo.
+ * </p>
+ */
+public class CircuitBreaker {
+
+    public enum Estado {
+        FECHADO, ABERTO, MEIO_ABERTO
+    }
+
+    private final String nome;
+    private final int limiteFalhas;
+    private final long tempoAbertoMs;
+
+    private Estado estado = Estado.FECHADO;
+    private int falhasSeguidas;
+    private long abertoEm;
+    private boolean testeEmAndamento;
+
+    // Métricas
+    private long aberturas;
+    private long meiasAberturas;
+    private long fechamentos;
+    private long rejeitadas;
+
+    public CircuitBreaker(String nome, int limiteFalhas, long tempoAbertoMs) {
+        if (limiteFalhas <= 0 || tempoAbertoMs <= 0) {
+            throw new IllegalArgumentException("Limite de falhas e tempo aberto devem ser positivos");
+        }
+        this.nome = nome;
+        this.limiteFalhas = limiteFalhas;
+        this.tempoAbertoMs = tempoAbertoMs;
+    }
+
+    /**
+     * Indica se a chamada pode ser feita agora.
+     * Quem recebe true deve informar o resultado com
+     * {@link #registrarSucesso()} ou {@link #registrarFalha()}.
+     */
+    public synchronized boolean permitir() {
+        if (estado == Estado.ABERTO && agora() - abertoEm >= tempoAbertoMs) {
+            mudarPara(Estado.MEIO_ABERTO);
+            testeEmAndamento = false;
+        }
+        if (estado == Estado.FECHADO) {
+            return true;
+        }
+        if (estado == Estado.MEIO_ABERTO && !testeEmAndamento) {
+            testeEmAndamento = true; // Só uma chamada de teste por vez
+            return true;
+        }
+        rejeitadas++;
+        return false;
+    }
+
+    public synchronized void registrarSucesso() {
+        falhasSeguidas = 0;
+        testeEmAndamento = false;
+        if (estado != Estado.FECHADO) {
+            mudarPara(Estado.FECHADO);
+        }
+    }
+
+    public synchronized void registrarFalha() {
+        falhasSeguidas++;
+        testeEmAndamento = false;
+        if (estado == Estado.MEIO_ABERTO || (estado == Estado.FECHADO && falhasSeguidas >= limiteFalhas)) {
+            abertoEm = agora();
+            mudarPara(Estado.ABERTO);
+        }
+    }
+
+    private void mudarPara(Estado novo) {
+        System.out.println("[" + nome + "] Circuito " + estado + " -> " + novo);
+        estado = novo;
+        switch (novo) {
+            case ABERTO:
+                aberturas++;
+                break;
+            case MEIO_ABERTO:
+                meiasAberturas++;
+                break;
+            case FECHADO:
+                fechamentos++;
+                break;
+        }
+    }
+
+    // Isolado para facilitar testes
+    protected long agora() {
+        return System.currentTimeMillis();
+    }
+
+    // --- Métricas ---
+
+    public synchronized Estado getEstado() {
+        return estado;
+    }
+
+    public synchronized long getAberturas() {
+        return aberturas;
+    }
+
+    public synchronized long getMeiasAberturas() {
+        return meiasAberturas;
+    }
+
+    public synchronized long getFechamentos() {
+        return fechamentos;
+    }
+
+    public synchronized long getRejeitadas() {
+        return rejeitadas;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("CircuitBreaker{%s, estado=%s, aberturas=%d, meiasAberturas=%d, fechamentos=%d, rejeitadas=%d}",
+                nome, estado, aberturas, meiasAberturas, fechamentos, rejeitadas);
+    }
+}
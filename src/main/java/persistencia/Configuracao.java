@@ -0,0 +1,54 @@
+package persistencia;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Configuração lida de um arquivo .properties do classpath.
+ * <p>
+ * Qualquer chave pode ser sobrescrita na linha de comando com o prefixo
+ * "todolist." (ex: -Dtodolist.redis.host=10.0.0.5). Sem o arquivo, valem
+ * os valores padrão informados por quem lê.
+ * </p>
+ */
+public class Configuracao {
+
+    private static final String PREFIXO_SISTEMA = "todolist.";
+
+    private final Properties propriedades = new Properties();
+
+    public Configuracao(String arquivo) {
+        try (InputStream in = Configuracao.class.getClassLoader().getResourceAsStream(arquivo)) {
+            if (in != null) {
+                propriedades.load(in);
+            } else {
+                System.out.println("[CONFIG] " + arquivo + " não encontrado. Usando valores padrão.");
+            }
+        } catch (IOException e) {
+            System.out.println("[CONFIG] Erro ao ler " + arquivo + ": " + e.getMessage());
+        }
+    }
+
+    public String getTexto(String chave, String padrao) {
+        return System.getProperty(PREFIXO_SISTEMA + chave, propriedades.getProperty(chave, padrao)).trim();
+    }
+
+    public int getInt(String chave, int padrao) {
+        return (int) getLong(chave, padrao);
+    }
+
+    public long getLong(String chave, long padrao) {
+        String valor = getTexto(chave, String.valueOf(padrao));
+        try {
+            return Long.parseLong(valor);
+        } catch (NumberFormatException e) {
+            System.out.println("[CONFIG] Valor inválido para " + chave + ": " + valor + ". Usando " + padrao);
+            return padrao;
+        }
+    }
+
+    public boolean getBoolean(String chave, boolean padrao) {
+        return Boolean.parseBoolean(getTexto(chave, String.valueOf(padrao)));
+    }
+}
@@ -1,26 +1,101 @@
 package persistencia;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
 
+/**
+ * Acesso ao banco SQL (persistence unit todoListPU).
+ * <p>
+ * As conexões vêm de um pool HikariCP configurado em database.properties,
+ * no lugar do pool interno do Hibernate (que não é para produção). Abrir um
+ * EntityManager por operação, como os repositórios fazem, apenas empresta
+ * uma conexão do pool.
+ * </p>
+ * <p>
+ * Na inicialização aplica as migrações pendentes ({@link MigradorEsquema}).
+ * </p>
+ * <p>
+ * Usuario e Evento ficam no cache de segundo nível (JCache/Ehcache, regiões
+ * em ehcache.xml), assim como as consultas marcadas como cacheáveis nos
+ * repositórios. {@link #getEstatisticasCache()} mostra a taxa de acerto de
+ * cada região.
+ * </p>
+ */
 public class DatabaseManager {
     private static DatabaseManager instance;
     private EntityManagerFactory emf;
+    private HikariDataSource dataSource;
+    private final Map<String, Object> propriedadesExtras;
 
-    private DatabaseManager() {
+    private DatabaseManager(Map<String, Object> propriedadesExtras) {
+        this.propriedadesExtras = Map.copyOf(propriedadesExtras);
         try {
-            this.emf = Persistence.createEntityManagerFactory("todoListPU");
+            this.dataSource = criarPool(new Configuracao("database.properties"));
+            Map<String, Object> propriedades = new HashMap<>(propriedadesExtras);
+            propriedades.put("jakarta.persistence.nonJtaDataSource", dataSource);
+            this.emf = Persistence.createEntityManagerFactory("todoListPU", propriedades);
+            // Depois do Hibernate criar/atualizar as tabelas: índices e demais ajustes versionados
+            new MigradorEsquema(dataSource).migrar();
         } catch (Exception e) {
             System.err.println("FATAL: Erro ao conectar no Banco SQL (Porta 5433, 5432).");
             e.printStackTrace();
+            if (dataSource != null)
+                dataSource.close();
             throw new RuntimeException(e);
         }
     }
 
+    private static HikariDataSource criarPool(Configuracao config) {
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName("todolist-sql");
+        hikari.setDriverClassName("org.postgresql.Driver");
+        hikari.setJdbcUrl(config.getTexto("db.url", "jdbc:postgresql://localhost:5433/todolist_db"));
+        hikari.setUsername(config.getTexto("db.user", "admin"));
+        hikari.setPassword(config.getTexto("db.password", ""));
+        hikari.setMaximumPoolSize(config.getInt("db.pool.maxTotal", 10));
+        hikari.setMinimumIdle(config.getInt("db.pool.minIdle", 2));
+        hikari.setConnectionTimeout(config.getLong("db.pool.timeout.conexao.ms", 3_000));
+        hikari.setIdleTimeout(config.getLong("db.pool.timeout.ocioso.ms", 600_000));
+        hikari.setMaxLifetime(config.getLong("db.pool.vidaMaxima.ms", 1_800_000));
+        hikari.setLeakDetectionThreshold(config.getLong("db.pool.vazamento.ms", 10_000));
+        hikari.setRegisterMbeans(true); // Métricas também via JMX (jconsole)
+        // O driver do PostgreSQL junta os INSERTs de um lote JDBC num único comando multi-valores
+        hikari.addDataSourceProperty("reWriteBatchedInserts", "true");
+        return new HikariDataSource(hikari);
+    }
+
     public static synchronized DatabaseManager getInstance() {
         if (instance == null)
-            instance = new DatabaseManager();
+            instance = new DatabaseManager(Map.of());
+        return instance;
+    }
+
+    /**
+     * Instância com propriedades extras para o EntityManagerFactory, que
+     * sobrepõem as do persistence.xml (usado pelos testes, ex.: um
+     * StatementInspector). Se a instância atual foi criada com outras
+     * propriedades, ela é fechada e recriada; os repositórios pedem o
+     * EntityManager a cada operação e passam a usar a nova.
+     */
+    public static synchronized DatabaseManager getInstance(Map<String, Object> propriedadesExtras) {
+        if (instance != null && !instance.propriedadesExtras.equals(propriedadesExtras)) {
+            instance.close();
+            instance = null;
+        }
+        if (instance == null)
+            instance = new DatabaseManager(propriedadesExtras);
         return instance;
     }
 
@@ -28,8 +103,46 @@ public class DatabaseManager {
         return emf.createEntityManager();
     }
 
+    /**
+     * Estado atual do pool: conexões ativas, ociosas, total e threads
+     * aguardando uma conexão (se > 0 com frequência, o pool é pequeno).
+     */
+    public String getMetricasPool() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null)
+            return "Pool SQL não iniciado";
+        return String.format("PoolSQL{ativas=%d, ociosas=%d, total=%d, aguardando=%d}",
+                pool.getActiveConnections(), pool.getIdleConnections(),
+                pool.getTotalConnections(), pool.getThreadsAwaitingConnection());
+    }
+
+    /**
+     * Acertos, falhas, inserções e elementos em memória de cada região do
+     * cache de segundo nível (entidades e consultas).
+     */
+    public String getEstatisticasCache() {
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        if (!stats.isStatisticsEnabled())
+            return "Estatísticas do Hibernate desligadas (hibernate.generate_statistics)";
+        StringBuilder sb = new StringBuilder();
+        for (String regiao : stats.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics r = stats.getCacheRegionStatistics(regiao);
+            if (r == null)
+                continue;
+            long total = r.getHitCount() + r.getMissCount();
+            double taxa = total == 0 ? 0.0 : (r.getHitCount() * 100.0) / total;
+            sb.append(String.format("Cache2N{regiao=%s, acertos=%d, falhas=%d, insercoes=%d, emMemoria=%d, taxa=%.1f%%}%n",
+                    regiao, r.getHitCount(), r.getMissCount(), r.getPutCount(), r.getElementCountInMemory(), taxa));
+        }
+        sb.append(String.format("CacheConsultas{acertos=%d, falhas=%d, insercoes=%d}",
+                stats.getQueryCacheHitCount(), stats.getQueryCacheMissCount(), stats.getQueryCachePutCount()));
+        return sb.toString();
+    }
+
     public void close() {
         if (emf != null)
             emf.close();
+        if (dataSource != null)
+            dataSource.close();
     }
-}
\ No newline at end of file
+}
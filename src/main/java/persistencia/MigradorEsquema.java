@@ -0,0 +1,197 @@
+package persistencia;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+/**
+ * Migrações versionadas do banco SQL, executadas na inicialização.
+ * <p>
+ * Os scripts ficam em db/migracao (listados em ordem no migracoes.txt) e
+ * seguem o nome V{versão}__{descrição}.sql. Cada versão aplicada é gravada
+ * na tabela schema_version e nunca roda de novo; cada script roda em uma
+ * transação própria, então uma falha não deixa a versão pela metade.
+ * </p>
+ * <p>
+ * Vários nós podem iniciar juntos: a migração inteira roda sob um advisory
+ * lock do PostgreSQL, e a versão atual só é lida depois de obtê-lo. Quem
+ * chega depois espera e encontra as versões já aplicadas.
+ * </p>
+ */
+public class MigradorEsquema {
+
+    private static final String PASTA = "db/migracao/";
+    private static final Pattern NOME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    // Chave do pg_advisory_lock exclusiva das migrações deste sistema
+    private static final long CHAVE_LOCK = 0x746F646F4D696772L; // "todoMigr"
+
+    private final DataSource dataSource;
+
+    public MigradorEsquema(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Aplica as migrações pendentes.
+     *
+     * @return quantidade de migrações aplicadas agora
+     * @throws IllegalStateException se algum script falhar
+     */
+    public int migrar() {
+        try (Connection con = dataSource.getConnection()) {
+            comandoLock(con, "SELECT pg_advisory_lock(?)");
+            try {
+                return migrar(con);
+            } finally {
+                // Lock de sessão: a conexão volta ao pool, então precisa ser liberado
+                comandoLock(con, "SELECT pg_advisory_unlock(?)");
+            }
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Falha ao migrar o esquema: " + e.getMessage(), e);
+        }
+    }
+
+    private static void comandoLock(Connection con, String sql) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setLong(1, CHAVE_LOCK);
+            ps.execute();
+        }
+    }
+
+    private int migrar(Connection con) throws SQLException, IOException {
+        criarTabelaVersao(con);
+        int versaoAtual = versaoAtual(con);
+        int aplicadas = 0;
+        for (String script : lerIndice()) {
+            Matcher m = NOME.matcher(script);
+            if (!m.matches()) {
+                throw new IllegalStateException("Nome de migração inválido: " + script);
+            }
+            int versao = Integer.parseInt(m.group(1));
+            if (versao <= versaoAtual) {
+                continue;
+            }
+            aplicar(con, versao, m.group(2).replace('_', ' '), lerRecurso(PASTA + script));
+            versaoAtual = versao;
+            aplicadas++;
+        }
+        System.out.println("[MIGRACAO] Esquema na versão " + versaoAtual + " (" + aplicadas + " aplicadas agora).");
+        return aplicadas;
+    }
+
+    private void criarTabelaVersao(Connection con) throws SQLException {
+        try (Statement st = con.createStatement()) {
+            st.execute("CREATE TABLE IF NOT EXISTS schema_version ("
+                    + "versao INTEGER PRIMARY KEY, "
+                    + "descricao VARCHAR(200) NOT NULL, "
+                    + "aplicada_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        }
+    }
+
+    private int versaoAtual(Connection con) throws SQLException {
+        try (Statement st = con.createStatement();
+                ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(versao), 0) FROM schema_version")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private void aplicar(Connection con, int versao, String descricao, String sql) throws SQLException {
+        System.out.println("[MIGRACAO] Aplicando V" + versao + ": " + descricao);
+        boolean autoCommit = con.getAutoCommit();
+        con.setAutoCommit(false);
+        try (Statement st = con.createStatement()) {
+            for (String comando : separarComandos(sql)) {
+                st.execute(comando);
+            }
+            try (PreparedStatement ps = con.prepareStatement(
+                    "INSERT INTO schema_version (versao, descricao) VALUES (?, ?)")) {
+                ps.setInt(1, versao);
+                ps.setString(2, descricao);
+                ps.executeUpdate();
+            }
+            con.commit();
+        } catch (SQLException e) {
+            con.rollback();
+            throw new SQLException("V" + versao + " (" + descricao + "): " + e.getMessage(), e);
+        } finally {
+            con.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Separa o script em comandos terminados por ";" no fim da linha,
+     * ignorando comentários "--" e respeitando blocos $$ ... $$.
+     */
+    static List<String> separarComandos(String sql) {
+        List<String> comandos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean emBloco = false;
+        for (String linha : sql.split("\\R")) {
+            String limpa = linha.trim();
+            if (!emBloco && (limpa.isEmpty() || limpa.startsWith("--"))) {
+                continue;
+            }
+            atual.append(linha).append('\n');
+            if (contar(limpa, "$$") % 2 == 1) {
+                emBloco = !emBloco;
+            }
+            if (!emBloco && limpa.endsWith(";")) {
+                String comando = atual.toString().trim();
+                comandos.add(comando.substring(0, comando.length() - 1));
+                atual.setLength(0);
+            }
+        }
+        if (atual.toString().trim().length() > 0) {
+            comandos.add(atual.toString().trim());
+        }
+        return comandos;
+    }
+
+    private static int contar(String texto, String trecho) {
+        int n = 0;
+        for (int i = texto.indexOf(trecho); i >= 0; i = texto.indexOf(trecho, i + trecho.length())) {
+            n++;
+        }
+        return n;
+    }
+
+    private List<String> lerIndice() throws IOException {
+        List<String> scripts = new ArrayList<>();
+        for (String linha : lerRecurso(PASTA + "migracoes.txt").split("\\R")) {
+            String nome = linha.trim();
+            if (!nome.isEmpty() && !nome.startsWith("#")) {
+                scripts.add(nome);
+            }
+        }
+        return scripts;
+    }
+
+    private static String lerRecurso(String caminho) throws IOException {
+        InputStream in = MigradorEsquema.class.getClassLoader().getResourceAsStream(caminho);
+        if (in == null) {
+            throw new IOException("Recurso não encontrado: " + caminho);
+        }
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            StringBuilder sb = new StringBuilder();
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                sb.append(linha).append('\n');
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package persistencia;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+
+/**
+ * Acesso ao MongoDB (subtarefas).
+ * <p>
+ * O MongoClient já é um pool de conexões com threads de monitoramento:
+ * deve existir um só por JVM. Todos os repositórios Mongo obtêm as coleções
+ * daqui, com pool e timeouts configurados em mongo.properties. O cliente é
+ * fechado por um shutdown hook ao encerrar a aplicação.
+ * </p>
+ */
+public class MongoManager {
+    private static MongoManager instance;
+    private MongoClient client;
+    private MongoDatabase database;
+
+    private MongoManager() {
+        Configuracao config = new Configuracao("mongo.properties");
+        try {
+            String uri = config.getTexto("mongo.uri", "mongodb://localhost:27017");
+            MongoClientSettings settings = MongoClientSettings.builder()
+                    .applyConnectionString(new ConnectionString(uri))
+                    .applicationName("todolist")
+                    .applyToConnectionPoolSettings(pool -> pool
+                            .maxSize(config.getInt("mongo.pool.maxSize", 20))
+                            .minSize(config.getInt("mongo.pool.minSize", 2))
+                            .maxWaitTime(config.getLong("mongo.pool.maxWait.ms", 2_000), TimeUnit.MILLISECONDS)
+                            .maxConnectionIdleTime(config.getLong("mongo.pool.maxOcioso.ms", 300_000),
+                                    TimeUnit.MILLISECONDS))
+                    .applyToSocketSettings(socket -> socket
+                            .connectTimeout(config.getLong("mongo.timeout.conexao.ms", 2_000), TimeUnit.MILLISECONDS)
+                            .readTimeout(config.getLong("mongo.timeout.leitura.ms", 5_000), TimeUnit.MILLISECONDS))
+                    .applyToClusterSettings(cluster -> cluster
+                            .serverSelectionTimeout(config.getLong("mongo.timeout.selecao.ms", 3_000),
+                                    TimeUnit.MILLISECONDS))
+                    .build();
+            this.client = MongoClients.create(settings);
+            this.database = client.getDatabase(config.getTexto("mongo.database", "todolist_db"));
+            Runtime.getRuntime().addShutdownHook(new Thread(this::close, "mongo-shutdown"));
+            System.out.println("[MONGO] Cliente iniciado (" + uri + ")");
+        } catch (Exception e) {
+            System.err.println("[MONGO] Erro ao conectar no MongoDB: " + e.getMessage());
+        }
+    }
+
+    public static synchronized MongoManager getInstance() {
+        if (instance == null)
+            instance = new MongoManager();
+        return instance;
+    }
+
+    /**
+     * @return a coleção, ou null se o cliente não pôde ser criado
+     */
+    public MongoCollection<Document> getColecao(String nome) {
+        return database != null ? database.getCollection(nome) : null;
+    }
+
+    /**
+     * Faz um ping no servidor (respeitando o timeout de seleção).
+     */
+    public boolean isDisponivel() {
+        if (database == null)
+            return false;
+        try {
+            database.runCommand(new Document("ping", 1));
+            return true;
+        } catch (Exception e) {
+            System.out.println("[MONGO] Servidor indisponível: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public synchronized void close() {
+        if (client != null) {
+            client.close();
+            client = null;
+            database = null;
+        }
+    }
+}
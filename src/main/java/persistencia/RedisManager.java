@@ -1,16 +1,40 @@
 package persistencia;
 
+import java.time.Duration;
+import java.util.function.Function;
+
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.exceptions.JedisConnectionException;
 
 public class RedisManager {
     private static RedisManager instance;
     private JedisPool pool;
+    private final CircuitBreaker circuito;
 
     private RedisManager() {
+        Configuracao config = new Configuracao("redis.properties");
+        // Após N falhas seguidas, o Redis é ignorado por um tempo
+        this.circuito = new CircuitBreaker("REDIS",
+                config.getInt("redis.circuito.falhas", 3),
+                config.getLong("redis.circuito.abertoMs", 10_000L));
         try {
-            this.pool = new JedisPool("localhost", 6379);
-            System.out.println("[REDIS] Conexão iniciada com sucesso!");
+            JedisPoolConfig poolConfig = new JedisPoolConfig();
+            poolConfig.setMaxTotal(config.getInt("redis.pool.maxTotal", 16));
+            poolConfig.setMaxIdle(config.getInt("redis.pool.maxIdle", 8));
+            poolConfig.setMinIdle(config.getInt("redis.pool.minIdle", 2));
+            // Pool esgotado falha rápido em vez de travar a tela
+            poolConfig.setMaxWait(Duration.ofMillis(config.getLong("redis.pool.maxWait.ms", 500)));
+            poolConfig.setTestWhileIdle(true);
+
+            String host = config.getTexto("redis.host", "localhost");
+            int porta = config.getInt("redis.port", 6379);
+            this.pool = new JedisPool(poolConfig, host, porta,
+                    config.getInt("redis.timeout.conexao.ms", 2000),
+                    config.getInt("redis.timeout.leitura.ms", 2000),
+                    null, 0);
+            System.out.println("[REDIS] Conexão iniciada com sucesso! (" + host + ":" + porta + ")");
         } catch (Exception e) {
             System.err.println("[REDIS] ERRO CRÍTICO: Não foi possível conectar ao Redis.");
             System.err.println("[REDIS] O sistema continuará usando apenas o banco SQL.");
@@ -24,12 +48,70 @@ public class RedisManager {
         return instance;
     }
 
+    /**
+     * Executa comandos numa conexão do pool e informa o resultado ao Circuit
+     * Breaker só depois deles. Obter a conexão não basta: o pool entrega
+     * conexões ociosas mesmo com o Redis fora do ar.
+     *
+     * @return o resultado dos comandos, ou null se o Redis estiver
+     *         indisponível ou com o circuito aberto (quem chama deve seguir
+     *         sem cache)
+     * @throws RuntimeException a exceção dos comandos, depois de registrada
+     */
+    public <T> T executar(Function<Jedis, T> comandos) {
+        Jedis conexao = getJedis();
+        if (conexao == null)
+            return null;
+        try (Jedis jedis = conexao) {
+            T resultado = comandos.apply(jedis);
+            circuito.registrarSucesso();
+            return resultado;
+        } catch (RuntimeException e) {
+            registrarErro(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Obtém uma conexão do pool para uso prolongado (ex: SUBSCRIBE). Quem
+     * chama informa o resultado com {@link #registrarSucesso()} quando o
+     * servidor responder, ou {@link #registrarErro(Exception)}; comandos
+     * comuns devem usar {@link #executar(Function)}.
+     *
+     * @return a conexão, ou null se o Redis estiver indisponível ou com o
+     *         circuito aberto
+     */
     public Jedis getJedis() {
+        if (pool == null || !circuito.permitir())
+            return null;
         try {
             return pool.getResource();
         } catch (Exception e) {
+            circuito.registrarFalha();
             System.out.println("[REDIS] Falha ao obter conexão do pool. Verifique o Docker.");
             return null;
         }
     }
-}
\ No newline at end of file
+
+    public void registrarSucesso() {
+        circuito.registrarSucesso();
+    }
+
+    /**
+     * Informa um erro de comando numa conexão já obtida. Só quedas de
+     * conexão contam como falha para o Circuit Breaker; nos demais erros
+     * (ex: um valor em formato antigo) o servidor respondeu, o que conta
+     * como sucesso.
+     */
+    public void registrarErro(Exception e) {
+        if (e instanceof JedisConnectionException) {
+            circuito.registrarFalha();
+        } else {
+            circuito.registrarSucesso();
+        }
+    }
+
+    public CircuitBreaker getCircuito() {
+        return circuito;
+    }
+}
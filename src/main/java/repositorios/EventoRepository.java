@@ -5,8 +5,11 @@ import persistencia.DatabaseManager;
 import interfaces.repositories.IEventoRepository;
 import modelo.Evento;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
+
 /**
  * Implementação do repositório de eventos usando lista em memória.
  * <p>
@@ -20,6 +23,8 @@ import java.util.List;
  * @since 2.1
  */
 public class EventoRepository implements IEventoRepository {
+    /** Região do cache de consultas de eventos (ver ehcache.xml). */
+    public static final String REGIAO_CONSULTAS = "consultas.eventos";
 
     public EventoRepository() {
     }
@@ -101,14 +106,24 @@ public class EventoRepository implements IEventoRepository {
 
     @Override
     public List<Evento> listarPorMes(int mes, int ano) {
+        // Intervalo de datas em vez de MONTH()/YEAR(): permite usar o índice de data_evento
+        YearMonth mesAno = YearMonth.of(ano, mes);
+        return listarEntre(mesAno.atDay(1), mesAno.plusMonths(1).atDay(1));
+    }
+
+    @Override
+    public List<Evento> listarEntre(LocalDate inicio, LocalDate fim) {
         EntityManager em = getEntityManager();
         try {
             return em
                     .createQuery(
-                            "SELECT e FROM Evento e WHERE MONTH(e.dataEvento) = :mes AND YEAR(e.dataEvento) = :ano",
+                            "SELECT e FROM Evento e WHERE e.dataEvento >= :inicio AND e.dataEvento < :fim"
+                                    + " ORDER BY e.dataEvento",
                             Evento.class)
-                    .setParameter("mes", mes)
-                    .setParameter("ano", ano)
+                    .setParameter("inicio", inicio)
+                    .setParameter("fim", fim)
+                    .setHint(HibernateHints.HINT_CACHEABLE, true) // Calendário recarrega o mesmo mês
+                    .setHint(HibernateHints.HINT_CACHE_REGION, REGIAO_CONSULTAS)
                     .getResultList();
         } finally {
             em.close();
@@ -124,7 +139,10 @@ public class EventoRepository implements IEventoRepository {
                             Evento.class)
                     .setParameter("titulo", titulo)
                     .setParameter("data", data)
-                    .getResultStream()
+                    .setHint(HibernateHints.HINT_CACHEABLE, true)
+                    .setHint(HibernateHints.HINT_CACHE_REGION, REGIAO_CONSULTAS)
+                    .getResultList()
+                    .stream()
                     .findFirst()
                     .orElse(null);
         } finally {
@@ -1,86 +1,373 @@
 package repositorios;
 
-import com.mongodb.client.MongoClient;
-import com.mongodb.client.MongoClients;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
 import com.mongodb.client.MongoCollection;
-import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.conversions.Bson;
 import org.bson.Document;
 import interfaces.repositories.ISubtarefaRepository;
+import modelo.ProgressoSubtarefas;
 import modelo.Subtarefa;
 import modelo.Tarefa;
+import persistencia.MongoManager;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Subtarefas no MongoDB.
+ * <p>
+ * Além da coleção "subtarefas", mantém em "subtarefas_progresso" um
+ * documento por tarefa com soma dos percentuais, quantidade e concluídas
+ * ({_id: tarefaId, soma, quantidade, concluidas}). Cada salvar/remover aplica só a
+ * diferença com $inc, então o progresso da tarefa é lido em O(1), sem
+ * percorrer as subtarefas.
+ * </p>
+ * <p>
+ * Os resumos das subtarefas gravadas antes deles existirem são criados uma
+ * única vez, antes de qualquer $inc (ver {@link #migrarProgresso(boolean)}).
+ * Enquanto a migração não estiver confirmada, salvar/remover são recusados:
+ * um $inc aplicado sobre resumos ainda não migrados ficaria errado para
+ * sempre. Depois dela nada reconstrói resumos sozinho: uma reconstrução
+ * concorrente com um salvar contaria a mesma gravação duas vezes, e o
+ * MongoDB standalone não tem transação para evitar isso.
+ * </p>
+ * <p>
+ * Pelo mesmo motivo, a gravação da subtarefa e o $inc do resumo são duas
+ * operações: se o processo cair entre elas, o resumo daquela tarefa fica
+ * defasado. Para corrigir, inicie um nó com
+ * {@value #PROPRIEDADE_RECALCULAR}=true com os demais parados; ele refaz
+ * todos os resumos a partir das subtarefas ({@link #recalcularProgresso()}).
+ * </p>
+ */
 public class SubtarefaRepositoryMongo implements ISubtarefaRepository {
-    private MongoClient mongoClient;
-    private MongoDatabase database;
+    static final String INDICE_TAREFA_TITULO = "ux_subtarefas_tarefaId_titulo";
+    public static final String PROPRIEDADE_RECALCULAR = "todolist.subtarefas.recalcular";
+
+    // Registro de migrações de dados do Mongo: {_id: nome, concluida, expiraEm}
+    private static final String COLECAO_MIGRACOES = "migracoes";
+    private static final String MIGRACAO_PROGRESSO = "subtarefas_progresso";
+    private static final long ESPERA_MIGRACAO_MS = 60_000;
+    // Prazo de quem faz a migração; vencido, outro nó assume (deve cobrir a agregação inteira)
+    private static final long CONCESSAO_MIGRACAO_MS = 5 * 60_000;
+
+    // Guardados pela trava da classe: a inicialização roda uma vez por processo
+    private static boolean inicializacaoFeita;
+    private static volatile boolean resumosProntos;
+
     private MongoCollection<Document> collection;
+    private MongoCollection<Document> progressos;
+    private MongoCollection<Document> migracoes;
 
     public SubtarefaRepositoryMongo() {
-        try {
-            mongoClient = MongoClients.create("mongodb://localhost:27017");
-            database = mongoClient.getDatabase("todolist_db");
-            collection = database.getCollection("subtarefas");
-        } catch (Exception e) {
-            System.err.println("Erro ao conectar no MongoDB: " + e.getMessage());
+        // Cliente (pool) compartilhado: criar vários repositórios não abre novas conexões
+        collection = MongoManager.getInstance().getColecao("subtarefas");
+        progressos = MongoManager.getInstance().getColecao("subtarefas_progresso");
+        migracoes = MongoManager.getInstance().getColecao(COLECAO_MIGRACOES);
+        inicializar();
+    }
+
+    /**
+     * Índice único e migração dos resumos, uma vez por processo (as demais
+     * instâncias não esperam de novo). Se a migração não terminar aqui, as
+     * gravações tentam confirmá-la depois (ver {@link #exigirResumosProntos()}).
+     */
+    private void inicializar() {
+        if (collection == null)
+            return;
+        synchronized (SubtarefaRepositoryMongo.class) {
+            if (inicializacaoFeita)
+                return;
+            inicializacaoFeita = true;
+            try {
+                // Índice único (tarefaId, titulo): impede subtarefas com o mesmo
+                // título na mesma tarefa e atende o filtro do upsert
+                collection.createIndex(Indexes.ascending("tarefaId", "titulo"),
+                        new IndexOptions().unique(true).name(INDICE_TAREFA_TITULO));
+            } catch (Exception e) {
+                // Ex.: duplicatas antigas impedem o índice único; remova-as e reinicie
+                System.err.println("[MONGO] Não foi possível criar o índice das subtarefas: " + e.getMessage());
+            }
+            try {
+                if (Boolean.getBoolean(PROPRIEDADE_RECALCULAR)) {
+                    recalcularProgresso();
+                } else {
+                    resumosProntos = migrarProgresso(true);
+                }
+            } catch (Exception e) {
+                System.err.println("[MONGO] Não foi possível migrar os resumos de progresso: " + e.getMessage());
+            }
+        }
+    }
+
+    // Chamado antes de gravar: sem resumos migrados, o $inc deixaria contagens erradas
+    private void exigirResumosProntos() {
+        if (resumosProntos)
+            return;
+        synchronized (SubtarefaRepositoryMongo.class) {
+            if (!resumosProntos)
+                resumosProntos = migrarProgresso(false);
+        }
+        if (!resumosProntos)
+            throw new IllegalStateException("Resumos de progresso das subtarefas ainda em migração; tente novamente.");
+    }
+
+    /**
+     * Cria, uma única vez, os resumos de progresso a partir das subtarefas
+     * existentes. O nó que consegue o registro da migração faz a carga; os
+     * demais esperam ela terminar, sem gravar, para que nenhum $inc aconteça
+     * no meio da agregação. Se o nó da migração cair, a concessão dele vence
+     * e outro nó a refaz.
+     *
+     * @param aguardar se deve esperar (até {@value #ESPERA_MIGRACAO_MS} ms)
+     *                 a migração de outro nó
+     * @return true se os resumos estão prontos para uso
+     */
+    private boolean migrarProgresso(boolean aguardar) {
+        long limite = System.currentTimeMillis() + ESPERA_MIGRACAO_MS;
+        while (true) {
+            Document registro = migracoes.find(Filters.eq("_id", MIGRACAO_PROGRESSO)).first();
+            if (registro != null && Boolean.TRUE.equals(registro.get("concluida")))
+                return true;
+            Date concessao = reivindicarMigracao(registro);
+            if (concessao != null)
+                return executarMigracao(concessao);
+            if (!aguardar || System.currentTimeMillis() >= limite) {
+                System.err.println("[MONGO] Migração dos resumos de progresso em andamento em outro nó.");
+                return false;
+            }
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
         }
     }
 
+    /**
+     * Tenta ficar com a migração: cria o registro ou assume o de um nó cuja
+     * concessão venceu. A troca é condicional ao prazo lido, então só um
+     * dos nós que viram o prazo vencido consegue.
+     *
+     * @return o novo prazo, ou null se outro nó está com a migração
+     */
+    private Date reivindicarMigracao(Document registro) {
+        Date agora = new Date();
+        Date concessao = new Date(agora.getTime() + CONCESSAO_MIGRACAO_MS);
+        if (registro == null) {
+            try {
+                migracoes.insertOne(new Document("_id", MIGRACAO_PROGRESSO).append("concluida", false)
+                        .append("expiraEm", concessao));
+                return concessao;
+            } catch (MongoWriteException e) {
+                if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY)
+                    throw e;
+                return null; // Outro nó criou primeiro
+            }
+        }
+        Object expiraEm = registro.get("expiraEm"); // Ausente nos registros antigos: já vencido
+        if (expiraEm instanceof Date prazo && prazo.after(agora))
+            return null;
+        System.out.println("[MONGO] Concessão da migração dos resumos vencida; assumindo.");
+        long trocados = migracoes.updateOne(
+                Filters.and(Filters.eq("_id", MIGRACAO_PROGRESSO), Filters.eq("concluida", false),
+                        Filters.eq("expiraEm", expiraEm)),
+                Updates.set("expiraEm", concessao)).getModifiedCount();
+        return trocados == 1 ? concessao : null;
+    }
+
+    /**
+     * Refaz todos os resumos a partir das subtarefas. Use quando uma queda
+     * entre a gravação da subtarefa e o $inc deixou resumos defasados, com
+     * os demais nós parados: um $inc concorrente com a agregação seria
+     * contado duas vezes.
+     */
+    public void recalcularProgresso() {
+        synchronized (SubtarefaRepositoryMongo.class) {
+            Date concessao = new Date(System.currentTimeMillis() + CONCESSAO_MIGRACAO_MS);
+            migracoes.updateOne(Filters.eq("_id", MIGRACAO_PROGRESSO),
+                    Updates.combine(Updates.set("concluida", false), Updates.set("expiraEm", concessao)),
+                    new UpdateOptions().upsert(true));
+            resumosProntos = false;
+            progressos.deleteMany(Filters.empty()); // Tarefas cujas subtarefas sumiram também
+            resumosProntos = executarMigracao(concessao);
+        }
+    }
+
+    // @return false se a concessão venceu no meio e outro nó assumiu a migração
+    private boolean executarMigracao(Date concessao) {
+        List<WriteModel<Document>> resumos = new ArrayList<>();
+        for (Document doc : collection.aggregate(List.of(
+                Aggregates.group("$tarefaId",
+                        Accumulators.sum("soma", "$percentual"),
+                        Accumulators.sum("quantidade", 1),
+                        Accumulators.sum("concluidas", new Document("$cond", List.of(
+                                new Document("$gte", List.of("$percentual", ProgressoSubtarefas.PERCENTUAL_CONCLUIDA)),
+                                1, 0))))))) {
+            // $set: nenhum nó grava enquanto a migração não termina, então
+            // refazê-la (concessão vencida após uma queda) recalcula do zero
+            resumos.add(new UpdateOneModel<>(Filters.eq("_id", doc.get("_id")),
+                    Updates.combine(Updates.set("soma", doc.get("soma")),
+                            Updates.set("quantidade", doc.get("quantidade")),
+                            Updates.set("concluidas", doc.get("concluidas"))),
+                    new UpdateOptions().upsert(true)));
+        }
+        if (!resumos.isEmpty())
+            progressos.bulkWrite(resumos);
+        // Só conclui se a concessão ainda é deste nó (um nó lento não encerra a migração de outro)
+        long concluidas = migracoes.updateOne(
+                Filters.and(Filters.eq("_id", MIGRACAO_PROGRESSO), Filters.eq("expiraEm", concessao)),
+                Updates.set("concluida", true)).getModifiedCount();
+        if (concluidas == 0) {
+            System.err.println("[MONGO] Concessão da migração dos resumos vencida durante a carga.");
+            return false;
+        }
+        System.out.println("[MONGO] Resumos de progresso criados para " + resumos.size() + " tarefas.");
+        return true;
+    }
+
+    // Só os campos que viram Subtarefa (sem _id)
+    private static final Bson CAMPOS_SUBTAREFA = Projections.fields(
+            Projections.include("titulo", "descricao", "percentual", "tarefaId"),
+            Projections.excludeId());
+
+    private static Bson chave(String titulo, Long tarefaId) {
+        return Filters.and(Filters.eq("tarefaId", tarefaId), Filters.eq("titulo", titulo));
+    }
+
     @Override
     public void salvar(Subtarefa subtarefa) {
-        Document doc = new Document("titulo", subtarefa.getTitulo())
-                .append("descricao", subtarefa.getDescricao())
-                .append("percentual", subtarefa.getPercentual())
-                .append("tarefaId", subtarefa.getTarefaId());
-
-        Document existe = collection.find(Filters.and(
-                Filters.eq("titulo", subtarefa.getTitulo()),
-                Filters.eq("tarefaId", subtarefa.getTarefaId()))).first();
+        exigirResumosProntos();
+        // Uma ida ao servidor: atualiza se existir, insere se não existir
+        // (tarefaId e titulo vêm do filtro), devolvendo a versão anterior
+        Bson filtro = chave(subtarefa.getTitulo(), subtarefa.getTarefaId());
+        Bson campos = Updates.combine(
+                Updates.set("descricao", subtarefa.getDescricao()),
+                Updates.set("percentual", subtarefa.getPercentual()));
+        FindOneAndUpdateOptions upsert = new FindOneAndUpdateOptions().upsert(true)
+                .returnDocument(ReturnDocument.BEFORE);
+        Document anterior;
+        try {
+            anterior = collection.findOneAndUpdate(filtro, campos, upsert);
+        } catch (MongoWriteException e) {
+            if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY)
+                throw e;
+            // Dois upserts simultâneos tentaram inserir; o índice único barrou
+            // o segundo, que agora encontra o documento e o atualiza
+            anterior = collection.findOneAndUpdate(filtro, campos, upsert);
+        }
 
-        if (existe != null) {
-            collection.replaceOne(Filters.eq("_id", existe.get("_id")), doc);
+        double novo = subtarefa.getPercentual();
+        int concluida = ProgressoSubtarefas.concluida(novo) ? 1 : 0;
+        if (anterior == null) {
+            acumularProgresso(subtarefa.getTarefaId(), novo, 1, concluida);
         } else {
-            collection.insertOne(doc);
+            double antigo = ((Number) anterior.get("percentual")).doubleValue();
+            acumularProgresso(subtarefa.getTarefaId(), novo - antigo, 0,
+                    concluida - (ProgressoSubtarefas.concluida(antigo) ? 1 : 0));
         }
     }
 
     @Override
     public void remover(Subtarefa subtarefa) {
-        collection.deleteOne(Filters.and(
-                Filters.eq("titulo", subtarefa.getTitulo()),
-                Filters.eq("tarefaId", subtarefa.getTarefaId())));
+        exigirResumosProntos();
+        Document removido = collection.findOneAndDelete(chave(subtarefa.getTitulo(), subtarefa.getTarefaId()));
+        if (removido != null) {
+            double percentual = ((Number) removido.get("percentual")).doubleValue();
+            acumularProgresso(subtarefa.getTarefaId(), -percentual, -1,
+                    ProgressoSubtarefas.concluida(percentual) ? -1 : 0);
+        }
+    }
+
+    // $inc é atômico e as diferenças comutam: gravações concorrentes não se perdem.
+    // O upsert cria o resumo da primeira subtarefa de uma tarefa nova.
+    private void acumularProgresso(Long tarefaId, double deltaSoma, int deltaQuantidade, int deltaConcluidas) {
+        if (deltaSoma == 0 && deltaQuantidade == 0 && deltaConcluidas == 0)
+            return;
+        progressos.updateOne(Filters.eq("_id", tarefaId),
+                Updates.combine(Updates.inc("soma", deltaSoma), Updates.inc("quantidade", deltaQuantidade),
+                        Updates.inc("concluidas", deltaConcluidas)),
+                new UpdateOptions().upsert(true));
     }
 
     @Override
     public List<Subtarefa> listarPorTarefaId(Long tarefaId) {
         List<Subtarefa> lista = new ArrayList<>();
-        for (Document doc : collection.find(Filters.eq("tarefaId", tarefaId))) {
-            Subtarefa s = new Subtarefa(
-                    doc.getString("titulo"),
-                    doc.getString("descricao"),
-                    doc.getDouble("percentual"));
-            s.setTarefaId(tarefaId);
-            lista.add(s);
+        for (Document doc : collection.find(Filters.eq("tarefaId", tarefaId)).projection(CAMPOS_SUBTAREFA)) {
+            lista.add(paraSubtarefa(doc, tarefaId));
         }
         return lista;
     }
 
     @Override
-    public Subtarefa buscarPorTitulo(String titulo, Long tarefaId) {
-        Document doc = collection.find(Filters.and(
-                Filters.eq("titulo", titulo),
-                Filters.eq("tarefaId", tarefaId))).first();
-
-        if (doc != null) {
-            Subtarefa s = new Subtarefa(
-                    doc.getString("titulo"),
-                    doc.getString("descricao"),
-                    doc.getDouble("percentual"));
-            s.setTarefaId(tarefaId);
-            return s;
+    public Map<Long, List<Subtarefa>> listarPorTarefaIds(Collection<Long> tarefaIds) {
+        Map<Long, List<Subtarefa>> resultado = new LinkedHashMap<>();
+        for (Long id : tarefaIds)
+            resultado.put(id, new ArrayList<>());
+        if (resultado.isEmpty())
+            return resultado;
+        // Uma consulta para todas as tarefas ($in usa o índice tarefaId+titulo)
+        for (Document doc : collection.find(Filters.in("tarefaId", resultado.keySet()))
+                .projection(CAMPOS_SUBTAREFA)) {
+            Long tarefaId = ((Number) doc.get("tarefaId")).longValue();
+            resultado.get(tarefaId).add(paraSubtarefa(doc, tarefaId));
+        }
+        return resultado;
+    }
+
+    private static Subtarefa paraSubtarefa(Document doc, Long tarefaId) {
+        Subtarefa s = new Subtarefa(
+                doc.getString("titulo"),
+                doc.getString("descricao"),
+                doc.getDouble("percentual"));
+        s.setTarefaId(tarefaId);
+        return s;
+    }
+
+    @Override
+    public ProgressoSubtarefas calcularProgresso(Long tarefaId) {
+        return calcularProgresso(List.of(tarefaId)).getOrDefault(tarefaId, ProgressoSubtarefas.VAZIO);
+    }
+
+    @Override
+    public Map<Long, ProgressoSubtarefas> calcularProgresso(Collection<Long> tarefaIds) {
+        Map<Long, ProgressoSubtarefas> resultado = new HashMap<>();
+        if (tarefaIds.isEmpty())
+            return resultado;
+        // Tarefa sem resumo não tem subtarefas (a migração criou os antigos)
+        for (Document doc : progressos.find(Filters.in("_id", tarefaIds))) {
+            Long id = ((Number) doc.get("_id")).longValue();
+            long quantidade = ((Number) doc.get("quantidade")).longValue();
+            if (quantidade > 0) {
+                double soma = ((Number) doc.get("soma")).doubleValue();
+                long concluidas = ((Number) doc.get("concluidas")).longValue();
+                resultado.put(id, new ProgressoSubtarefas(quantidade, concluidas, soma / quantidade));
+            }
         }
-        return null;
+        return resultado;
+    }
+
+    @Override
+    public Subtarefa buscarPorTitulo(String titulo, Long tarefaId) {
+        Document doc = collection.find(chave(titulo, tarefaId)).projection(CAMPOS_SUBTAREFA).first();
+        return doc != null ? paraSubtarefa(doc, tarefaId) : null;
     }
 }
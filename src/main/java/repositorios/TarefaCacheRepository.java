@@ -1,69 +1,542 @@
 package repositorios;
 
-import com.thoughtworks.xstream.XStream;
-import com.thoughtworks.xstream.security.AnyTypePermission;
+import cache.CodecBinarioTarefas;
+import interfaces.cache.ICacheCodec;
 import modelo.Tarefa;
 import persistencia.RedisManager;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Transaction;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
+import redis.clients.jedis.params.SetParams;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
+/**
+ * Cache Redis das tarefas de cada usuário.
+ * <p>
+ * Layout: um hash por usuário ("tarefas:{id}") com um campo por tarefa
+ * (id da tarefa -> tarefa serializada pelo codec). O campo "_completo"
+ * indica que o hash contém a lista inteira (sem ele a leitura é MISS) e
+ * guarda o instante da carga, usado para o TTL "soft".
+ * Assim uma alteração em uma tarefa vira um HSET/HDEL, sem descartar a lista.
+ * </p>
+ * <p>
+ * Cada escrita incrementa "tarefas:versao:{id}". Uma carga vinda do SQL só é
+ * gravada se a versão não mudou desde antes da consulta (WATCH + MULTI), para
+ * que uma lista velha não sobrescreva uma escrita concorrente.
+ * </p>
+ * <p>
+ * Os métodos "Varios" (aquecimento de vários usuários, invalidação em massa)
+ * enviam todos os comandos num único pipeline, em uma ida e volta só.
+ * </p>
+ */
 public class TarefaCacheRepository {
 
-    private XStream xstream;
-    private static final int TTL_SECONDS = 3600; // Cache dura 1 hora
+    private final ICacheCodec codec;
+    private static final int TTL_SECONDS = 3600; // Cache dura 1 hora (TTL "hard", EXPIRE do Redis)
+    public static final long TTL_SOFT_MS = 5 * 60_000; // Depois disso a lista é servida, mas recarregada
+    private static final int TTL_VERSAO_SECONDS = 24 * 3600; // Sobrevive ao hash
+    private static final byte[] CAMPO_COMPLETO = "_completo".getBytes(StandardCharsets.UTF_8);
+    private static final long TRAVA_CARGA_MS = 5_000; // Expira sozinha se o dono cair
+    // Só apaga a trava se ela ainda pertencer a quem a criou
+    private static final String SCRIPT_LIBERAR = "if redis.call('get', KEYS[1]) == ARGV[1] then "
+            + "return redis.call('del', KEYS[1]) else return 0 end";
+    // Versão do salvarCache condicional para pipeline (não dá para usar WATCH em lote).
+    // KEYS: hash, versão | ARGV: versão esperada, TTL, pares campo/valor
+    private static final byte[] SCRIPT_SALVAR_SE_VERSAO = ("local v = redis.call('get', KEYS[2]) or '0' "
+            + "if v ~= ARGV[1] then return 0 end "
+            + "redis.call('del', KEYS[1]) "
+            + "for i = 3, #ARGV, 2 do redis.call('hset', KEYS[1], ARGV[i], ARGV[i + 1]) end "
+            + "redis.call('expire', KEYS[1], ARGV[2]) "
+            + "return 1").getBytes(StandardCharsets.UTF_8);
+    // SHA1 do script no servidor: o corpo vai uma vez (SCRIPT LOAD) e o pipeline manda só o EVALSHA
+    private static volatile byte[] shaSalvarSeVersao;
 
     public TarefaCacheRepository() {
-        this.xstream = new XStream();
-        // Permissões de segurança para serialização
-        this.xstream.addPermission(AnyTypePermission.ANY);
-        this.xstream.allowTypesByWildcard(new String[] { "modelo.**", "java.util.**" });
+        this(new CodecBinarioTarefas());
+    }
+
+    // Permite trocar o formato gravado no Redis (ex: CodecXStreamTarefas)
+    public TarefaCacheRepository(ICacheCodec codec) {
+        this.codec = codec;
+    }
+
+    private static byte[] chave(Long id) {
+        return ("tarefas:" + id).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] chaveVersao(Long id) {
+        return ("tarefas:versao:" + id).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String chaveTrava(Long id) {
+        return "tarefas:carga:" + id;
+    }
+
+    private static byte[] campo(Long tarefaId) {
+        return String.valueOf(tarefaId).getBytes(StandardCharsets.UTF_8);
     }
 
     public void salvarCache(Long id, List<Tarefa> tarefas) {
-        try (Jedis jedis = RedisManager.getInstance().getJedis()) {
-            if (jedis == null)
-                return;
+        salvarCache(id, tarefas, null);
+    }
+
+    /**
+     * Lê o carimbo de versão do usuário. Deve ser chamado antes de consultar
+     * o SQL e repassado para {@link #salvarCache(Long, List, String)}.
+     *
+     * @return a versão atual ("0" se nunca houve escrita) ou null se o Redis
+     *         estiver indisponível
+     */
+    public String lerVersao(Long id) {
+        try {
+            return RedisManager.getInstance().executar(jedis -> {
+                byte[] v = jedis.get(chaveVersao(id));
+                return v == null ? "0" : new String(v, StandardCharsets.UTF_8);
+            });
+        } catch (Exception e) {
+            System.out.println("[REDIS] Erro ao ler versão: " + e.getMessage());
+            return null;
+        }
+    }
 
-            String chave = "tarefas:" + id;
-            String xml = xstream.toXML(tarefas);
+    /**
+     * Grava a lista completa do usuário.
+     *
+     * @param versaoEsperada versão lida antes da consulta ao SQL; se não for
+     *                       null e tiver mudado, a gravação é descartada
+     * @return true se a lista foi gravada
+     */
+    public boolean salvarCache(Long id, List<Tarefa> tarefas, String versaoEsperada) {
+        Map<byte[], byte[]> campos = camposDe(tarefas);
+        byte[] chave = chave(id);
+        try {
+            Boolean gravada = RedisManager.getInstance().executar(jedis -> {
+                if (versaoEsperada != null) {
+                    // Qualquer escrita na versão entre o WATCH e o EXEC aborta a transação
+                    jedis.watch(chaveVersao(id));
+                    byte[] atual = jedis.get(chaveVersao(id));
+                    String versaoAtual = atual == null ? "0" : new String(atual, StandardCharsets.UTF_8);
+                    if (!versaoAtual.equals(versaoEsperada)) {
+                        jedis.unwatch();
+                        return false;
+                    }
+                }
 
-            jedis.setex(chave, TTL_SECONDS, xml);
-            System.out.println("[REDIS] CACHE SAVE -> Dados salvos para: " + id);
+                // Substitui o hash inteiro de forma atômica
+                Transaction tx = jedis.multi();
+                tx.del(chave);
+                tx.hset(chave, campos);
+                tx.expire(chave, TTL_SECONDS);
+                return tx.exec() != null;
+            });
+            if (gravada == null)
+                return false;
+            if (!gravada) {
+                System.out.println("[REDIS] CACHE SAVE descartado -> houve escrita durante a carga: " + id);
+                return false;
+            }
+            System.out.println("[REDIS] CACHE SAVE -> " + tarefas.size() + " tarefas salvas para: " + id);
+            return true;
         } catch (Exception e) {
             System.out.println("[REDIS] Erro ao salvar: " + e.getMessage());
+            return false;
         }
     }
 
-    @SuppressWarnings("unchecked")
     public List<Tarefa> buscarCache(Long id) {
-        try (Jedis jedis = RedisManager.getInstance().getJedis()) {
-            if (jedis == null)
-                return null;
-
-            String chave = "tarefas:" + id;
-            System.out.println("[REDIS] Buscando chave: " + chave);
-
-            String xml = jedis.get(chave);
+        Leitura leitura = buscarCacheComIdade(id);
+        return leitura != null ? leitura.getTarefas() : null;
+    }
 
-            if (xml != null && !xml.isEmpty()) {
-                List<Tarefa> tarefas = (List<Tarefa>) xstream.fromXML(xml);
-                System.out.println("[REDIS] HIT! " + tarefas.size() + " tarefas recuperadas da memória rápida.");
-                return tarefas;
+    /**
+     * Como {@link #buscarCache(Long)}, mas informa também quando a lista foi
+     * carregada, para o Proxy decidir se precisa recarregar em segundo plano.
+     */
+    public Leitura buscarCacheComIdade(Long id) {
+        try {
+            System.out.println("[REDIS] Buscando chave: tarefas:" + id);
+            Leitura leitura = lerHash(RedisManager.getInstance().executar(jedis -> jedis.hgetAll(chave(id))));
+            if (leitura != null) {
+                System.out.println("[REDIS] HIT! " + leitura.getTarefas().size() + " tarefas recuperadas da memória rápida.");
+                return leitura;
             }
         } catch (Exception e) {
+            // Inclui formato desconhecido (ex: dados de versões antigas): vira MISS
             System.out.println("[REDIS] Erro ao ler: " + e.getMessage());
         }
         System.out.println("[REDIS] MISS! Chave não encontrada. Será buscado no SQL.");
         return null;
     }
 
+    /**
+     * Indica se a lista completa do usuário está no cache, sem trazê-la
+     * (HEXISTS do campo "_completo").
+     */
+    public boolean contemLista(Long id) {
+        try {
+            return Boolean.TRUE.equals(
+                    RedisManager.getInstance().executar(jedis -> jedis.hexists(chave(id), CAMPO_COMPLETO)));
+        } catch (Exception e) {
+            System.out.println("[REDIS] Erro ao consultar: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private Map<byte[], byte[]> camposDe(List<Tarefa> tarefas) {
+        Map<byte[], byte[]> campos = new HashMap<>();
+        for (Tarefa t : tarefas) {
+            if (t.getId() != null) {
+                campos.put(campo(t.getId()), codec.codificarTarefa(t));
+            }
+        }
+        campos.put(CAMPO_COMPLETO, String.valueOf(System.currentTimeMillis()).getBytes(StandardCharsets.UTF_8));
+        return campos;
+    }
+
+    /**
+     * Converte o hash lido do Redis.
+     *
+     * @return a leitura, ou null se o hash não existir ou estiver incompleto
+     */
+    private Leitura lerHash(Map<byte[], byte[]> campos) {
+        if (campos == null || campos.isEmpty()) {
+            return null;
+        }
+        List<Tarefa> tarefas = new ArrayList<>(campos.size());
+        boolean completo = false;
+        long carregadoEm = 0;
+        for (Map.Entry<byte[], byte[]> campo : campos.entrySet()) {
+            if (Arrays.equals(campo.getKey(), CAMPO_COMPLETO)) {
+                completo = true;
+                carregadoEm = lerInstante(campo.getValue());
+            } else {
+                tarefas.add(codec.decodificarTarefa(campo.getValue()));
+            }
+        }
+        if (!completo) {
+            return null;
+        }
+        // O hash não guarda ordem: mantém a ordem de inserção (id)
+        tarefas.sort(Comparator.comparing(Tarefa::getId));
+        return new Leitura(tarefas, carregadoEm);
+    }
+
+    private static long lerInstante(byte[] valor) {
+        try {
+            return Long.parseLong(new String(valor, StandardCharsets.UTF_8));
+        } catch (NumberFormatException e) {
+            return 0; // Marcador antigo, sem instante: considera vencido
+        }
+    }
+
+    /**
+     * Grava (ou substitui) apenas uma tarefa no hash do usuário.
+     * Se a escrita falhar, o hash é descartado para não servir dados velhos.
+     */
+    public void salvarTarefa(Long usuarioId, Tarefa tarefa) {
+        byte[] valor = codec.codificarTarefa(tarefa);
+        try {
+            if (RedisManager.getInstance().executar(jedis -> {
+                byte[] chave = chave(usuarioId);
+                Transaction tx = jedis.multi();
+                tx.hset(chave, campo(tarefa.getId()), valor);
+                tx.expire(chave, TTL_SECONDS);
+                incrementarVersao(tx, usuarioId);
+                return tx.exec();
+            }) != null) {
+                System.out.println("[REDIS] HSET -> Tarefa " + tarefa.getId() + " atualizada no cache.");
+            }
+        } catch (Exception e) {
+            System.out.println("[REDIS] Erro ao atualizar tarefa: " + e.getMessage());
+            invalidarCache(usuarioId);
+        }
+    }
+
+    /**
+     * Remove apenas uma tarefa do hash do usuário.
+     */
+    public void removerTarefa(Long usuarioId, Long tarefaId) {
+        try {
+            if (RedisManager.getInstance().executar(jedis -> {
+                Transaction tx = jedis.multi();
+                tx.hdel(chave(usuarioId), campo(tarefaId));
+                incrementarVersao(tx, usuarioId);
+                return tx.exec();
+            }) != null) {
+                System.out.println("[REDIS] HDEL -> Tarefa " + tarefaId + " removida do cache.");
+            }
+        } catch (Exception e) {
+            System.out.println("[REDIS] Erro ao remover tarefa: " + e.getMessage());
+            invalidarCache(usuarioId);
+        }
+    }
+
+    /**
+     * Tenta obter a trava distribuída de carga do usuário (SET NX PX).
+     * Sem Redis não há com quem coordenar, então a carga é liberada.
+     *
+     * @return o token da trava, ou null se outro nó já está carregando
+     */
+    public String tentarTravarCarga(Long id) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean obtida = RedisManager.getInstance().executar(
+                    jedis -> jedis.set(chaveTrava(id), token, SetParams.setParams().nx().px(TRAVA_CARGA_MS)) != null);
+            return obtida == null || obtida ? token : null;
+        } catch (Exception e) {
+            System.out.println("[REDIS] Erro ao obter trava de carga: " + e.getMessage());
+            return token;
+        }
+    }
+
+    /**
+     * Indica se algum nó mantém a trava de carga do usuário.
+     */
+    public boolean cargaEmAndamento(Long id) {
+        try {
+            return Boolean.TRUE.equals(RedisManager.getInstance().executar(jedis -> jedis.exists(chaveTrava(id))));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public void liberarTravaCarga(Long id, String token) {
+        try {
+            RedisManager.getInstance().executar(
+                    jedis -> jedis.eval(SCRIPT_LIBERAR, List.of(chaveTrava(id)), List.of(token)));
+        } catch (Exception e) {
+            System.out.println("[REDIS] Erro ao liberar trava de carga: " + e.getMessage());
+        }
+    }
+
     public void invalidarCache(Long id) {
-        try (Jedis jedis = RedisManager.getInstance().getJedis()) {
-            if (jedis == null)
-                return;
+        try {
+            if (RedisManager.getInstance().executar(jedis -> {
+                Transaction tx = jedis.multi();
+                tx.del(chave(id));
+                incrementarVersao(tx, id);
+                return tx.exec();
+            }) != null) {
+                System.out.println("[REDIS] INVALIDATE -> Cache limpo para atualização.");
+            }
+        } catch (Exception e) {
+            System.out.println("[REDIS] Erro ao invalidar: " + e.getMessage());
+        }
+    }
+
+    // --- Operações em lote (pipeline) ---
+
+    /**
+     * Lê as versões de vários usuários em uma ida e volta.
+     *
+     * @return versão por usuário ("0" se nunca houve escrita) ou null se o
+     *         Redis estiver indisponível
+     */
+    public Map<Long, String> lerVersoes(Collection<Long> ids) {
+        try {
+            return RedisManager.getInstance().executar(jedis -> {
+                Pipeline p = jedis.pipelined();
+                Map<Long, Response<byte[]>> respostas = new LinkedHashMap<>();
+                for (Long id : ids) {
+                    respostas.put(id, p.get(chaveVersao(id)));
+                }
+                p.sync();
+
+                Map<Long, String> versoes = new LinkedHashMap<>();
+                respostas.forEach((id, r) -> {
+                    byte[] v = r.get();
+                    versoes.put(id, v == null ? "0" : new String(v, StandardCharsets.UTF_8));
+                });
+                return versoes;
+            });
+        } catch (Exception e) {
+            System.out.println("[REDIS] Erro ao ler versões em lote: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Busca as listas de vários usuários em uma ida e volta.
+     *
+     * @return apenas os usuários encontrados no cache (os ausentes são MISS)
+     */
+    public Map<Long, List<Tarefa>> buscarVarios(Collection<Long> ids) {
+        Map<Long, List<Tarefa>> encontrados = new LinkedHashMap<>();
+        try {
+            Map<Long, Map<byte[], byte[]>> hashes = RedisManager.getInstance().executar(jedis -> {
+                Pipeline p = jedis.pipelined();
+                Map<Long, Response<Map<byte[], byte[]>>> respostas = new LinkedHashMap<>();
+                for (Long id : ids) {
+                    respostas.put(id, p.hgetAll(chave(id)));
+                }
+                p.sync();
+
+                Map<Long, Map<byte[], byte[]>> lidos = new LinkedHashMap<>();
+                respostas.forEach((id, r) -> lidos.put(id, r.get()));
+                return lidos;
+            });
+            if (hashes == null)
+                return encontrados;
+
+            for (Map.Entry<Long, Map<byte[], byte[]>> hash : hashes.entrySet()) {
+                try {
+                    Leitura leitura = lerHash(hash.getValue());
+                    if (leitura != null) {
+                        encontrados.put(hash.getKey(), leitura.getTarefas());
+                    }
+                } catch (IllegalStateException e) {
+                    // Formato desconhecido só para este usuário: vira MISS
+                }
+            }
+            System.out.println("[REDIS] MULTI-GET -> " + encontrados.size() + "/" + ids.size() + " usuários em cache.");
+        } catch (Exception e) {
+            System.out.println("[REDIS] Erro ao ler em lote: " + e.getMessage());
+        }
+        return encontrados;
+    }
+
+    /**
+     * Aquecimento: grava as listas de vários usuários em uma ida e volta.
+     * Cada lista só é gravada se a versão do usuário ainda for a informada
+     * (lida com {@link #lerVersoes(Collection)} antes da consulta ao SQL).
+     *
+     * @return quantidade de listas gravadas
+     */
+    public int salvarVarios(Map<Long, List<Tarefa>> listas, Map<Long, String> versoesEsperadas) {
+        byte[] ttl = String.valueOf(TTL_SECONDS).getBytes(StandardCharsets.UTF_8);
+        Map<Long, List<byte[]>> argumentos = new LinkedHashMap<>();
+        for (Map.Entry<Long, List<Tarefa>> lista : listas.entrySet()) {
+            String versao = versoesEsperadas.getOrDefault(lista.getKey(), "0");
+
+            List<byte[]> args = new ArrayList<>();
+            args.add(versao.getBytes(StandardCharsets.UTF_8));
+            args.add(ttl);
+            camposDe(lista.getValue()).forEach((campo, valor) -> {
+                args.add(campo);
+                args.add(valor);
+            });
+            argumentos.put(lista.getKey(), args);
+        }
+        try {
+            Integer gravadas = RedisManager.getInstance().executar(jedis -> {
+                int total = 0;
+                for (Object r : salvarSeVersaoEmLote(jedis, argumentos).values()) {
+                    if (Long.valueOf(1).equals(r))
+                        total++;
+                }
+                return total;
+            });
+            if (gravadas == null)
+                return 0;
+            System.out.println("[REDIS] WARMUP -> " + gravadas + "/" + listas.size() + " listas gravadas.");
+            return gravadas;
+        } catch (Exception e) {
+            System.out.println("[REDIS] Erro ao gravar em lote: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Roda o SCRIPT_SALVAR_SE_VERSAO para cada usuário num pipeline de
+     * EVALSHA. Se o servidor não conhecer o script (NOSCRIPT: Redis
+     * reiniciado ou SCRIPT FLUSH), carrega de novo e reenvia só esses.
+     *
+     * @return resultado do script por usuário (ausente se não rodou)
+     */
+    private static Map<Long, Object> salvarSeVersaoEmLote(Jedis jedis, Map<Long, List<byte[]>> argumentos) {
+        Map<Long, Object> resultados = new LinkedHashMap<>();
+        Map<Long, List<byte[]>> pendentes = argumentos;
+        for (int tentativa = 0; tentativa < 2 && !pendentes.isEmpty(); tentativa++) {
+            byte[] sha = shaSalvarSeVersao;
+            if (sha == null || tentativa > 0) {
+                sha = jedis.scriptLoad(SCRIPT_SALVAR_SE_VERSAO);
+                shaSalvarSeVersao = sha;
+            }
+            Pipeline p = jedis.pipelined();
+            Map<Long, Response<Object>> respostas = new LinkedHashMap<>();
+            for (Map.Entry<Long, List<byte[]>> args : pendentes.entrySet()) {
+                Long id = args.getKey();
+                respostas.put(id, p.evalsha(sha, List.of(chave(id), chaveVersao(id)), args.getValue()));
+            }
+            p.sync();
+
+            Map<Long, List<byte[]>> semScript = new LinkedHashMap<>();
+            for (Map.Entry<Long, Response<Object>> r : respostas.entrySet()) {
+                try {
+                    resultados.put(r.getKey(), r.getValue().get());
+                } catch (JedisNoScriptException e) {
+                    semScript.put(r.getKey(), pendentes.get(r.getKey()));
+                }
+            }
+            pendentes = semScript;
+        }
+        return resultados;
+    }
+
+    /**
+     * Invalida as listas de vários usuários em uma ida e volta.
+     */
+    public void invalidarVarios(Collection<Long> ids) {
+        try {
+            if (RedisManager.getInstance().executar(jedis -> {
+                Pipeline p = jedis.pipelined();
+                for (Long id : ids) {
+                    p.del(chave(id));
+                    p.incr(chaveVersao(id));
+                    p.expire(chaveVersao(id), TTL_VERSAO_SECONDS);
+                }
+                p.sync();
+                return ids.size();
+            }) != null) {
+                System.out.println("[REDIS] INVALIDATE -> " + ids.size() + " usuários limpos em lote.");
+            }
+        } catch (Exception e) {
+            System.out.println("[REDIS] Erro ao invalidar em lote: " + e.getMessage());
+        }
+    }
+
+    private static void incrementarVersao(Transaction tx, Long usuarioId) {
+        tx.incr(chaveVersao(usuarioId));
+        tx.expire(chaveVersao(usuarioId), TTL_VERSAO_SECONDS);
+    }
+
+    /**
+     * Resultado de uma leitura do cache com a idade da lista.
+     */
+    public static class Leitura {
+        private final List<Tarefa> tarefas;
+        private final long carregadoEm;
+
+        public Leitura(List<Tarefa> tarefas, long carregadoEm) {
+            this.tarefas = tarefas;
+            this.carregadoEm = carregadoEm;
+        }
+
+        public List<Tarefa> getTarefas() {
+            return tarefas;
+        }
+
+        public long getCarregadoEm() {
+            return carregadoEm;
+        }
 
-            jedis.del("tarefas:" + id);
-            System.out.println("[REDIS] INVALIDATE -> Cache limpo para atualização.");
+        /**
+         * @return true se passou do TTL soft e deve ser recarregada em segundo plano
+         */
+        public boolean isVencida() {
+            return System.currentTimeMillis() - carregadoEm > TTL_SOFT_MS;
         }
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,30 @@
 package repositorios;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import interfaces.strategies.IFiltroStrategy;
+import interfaces.strategies.IOrdenacaoStrategy;
 import persistencia.DatabaseManager;
 import interfaces.repositories.ITarefaRepository;
+import modelo.CursorTarefa;
+import modelo.OrdemPaginacao;
+import modelo.Pagina;
 import modelo.Tarefa;
+import modelo.TarefaResumo;
 import modelo.Usuario;
 
 /**
@@ -23,6 +40,14 @@ import modelo.Usuario;
  */
 public class TarefaRepository implements ITarefaRepository {
 
+    // Igual a hibernate.jdbc.batch_size (persistence.xml) e ao allocationSize da sequence de Tarefa
+    public static final int TAMANHO_LOTE = 50;
+
+    // Projeção das listagens: sem o Usuario e só o começo da descrição
+    private static final String SELECT_RESUMO = "SELECT new modelo.TarefaResumo(t.id, t.titulo,"
+            + " SUBSTRING(t.descricao, 1, " + TarefaResumo.TAMANHO_DESCRICAO + "),"
+            + " t.deadline, t.prioridade, t.percentual) FROM Tarefa t";
+
     public TarefaRepository() {
     }
 
@@ -51,6 +76,43 @@ public class TarefaRepository implements ITarefaRepository {
         }
     }
 
+    /**
+     * Salva todas as tarefas numa única transação. A cada
+     * {@value #TAMANHO_LOTE} tarefas o contexto é descarregado (os INSERTs e
+     * UPDATEs pendentes vão em lote para o banco) e limpo, para a memória não
+     * crescer com o tamanho da coleção. Se algo falhar, nada é gravado.
+     */
+    @Override
+    public void salvarTodos(Collection<Tarefa> tarefas) {
+        if (tarefas.isEmpty())
+            return;
+        EntityManager em = getEntityManager();
+        try {
+            em.getTransaction().begin();
+            int pendentes = 0;
+            for (Tarefa tarefa : tarefas) {
+                if (tarefa.getId() == null) {
+                    em.persist(tarefa);
+                } else {
+                    em.merge(tarefa);
+                }
+                if (++pendentes == TAMANHO_LOTE) {
+                    em.flush();
+                    em.clear();
+                    pendentes = 0;
+                }
+            }
+            em.getTransaction().commit();
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            throw e;
+        } finally {
+            em.close();
+        }
+    }
+
     @Override
     public void remover(Tarefa tarefa) {
         EntityManager em = getEntityManager();
@@ -80,7 +142,8 @@ public class TarefaRepository implements ITarefaRepository {
     public List<Tarefa> listarTodas() {
         EntityManager em = getEntityManager();
         try {
-            return em.createQuery("SELECT t FROM Tarefa t", Tarefa.class).getResultList();
+            // Tarefas de vários usuários: o dono vem no mesmo SELECT (sem N+1 para quem for exibi-lo)
+            return em.createQuery("SELECT t FROM Tarefa t JOIN FETCH t.usuario", Tarefa.class).getResultList();
         } finally {
             em.close();
         }
@@ -90,7 +153,7 @@ public class TarefaRepository implements ITarefaRepository {
     public List<Tarefa> listarPorData(LocalDate data) {
         EntityManager em = getEntityManager();
         try {
-            return em.createQuery("SELECT t FROM Tarefa t WHERE t.deadline = :data", Tarefa.class)
+            return em.createQuery("SELECT t FROM Tarefa t JOIN FETCH t.usuario WHERE t.deadline = :data", Tarefa.class)
                     .setParameter("data", data)
                     .getResultList();
         } finally {
@@ -102,8 +165,11 @@ public class TarefaRepository implements ITarefaRepository {
     public Tarefa buscarPorTitulo(String titulo) {
         EntityManager em = getEntityManager();
         try {
-            return em.createQuery("SELECT t FROM Tarefa t WHERE t.titulo = :titulo", Tarefa.class)
+            // Sem o dono em mãos: ele vem no mesmo SELECT, em vez de um proxy LAZY que
+            // falharia (ou iria ao banco) depois de o EntityManager fechar
+            return em.createQuery("SELECT t FROM Tarefa t JOIN FETCH t.usuario WHERE t.titulo = :titulo", Tarefa.class)
                     .setParameter("titulo", titulo)
+                    .setMaxResults(1)
                     .getResultStream()
                     .findFirst()
                     .orElse(null);
@@ -112,6 +178,24 @@ public class TarefaRepository implements ITarefaRepository {
         }
     }
 
+    @Override
+    public Tarefa buscarPorTitulo(String titulo, Usuario usuario) {
+        EntityManager em = getEntityManager();
+        try {
+            return em.createQuery("SELECT t FROM Tarefa t WHERE t.titulo = :titulo AND t.usuario = :usuario",
+                    Tarefa.class)
+                    .setParameter("titulo", titulo)
+                    .setParameter("usuario", usuario)
+                    .setMaxResults(1)
+                    .getResultStream()
+                    .findFirst()
+                    .map(t -> comDono(t, usuario))
+                    .orElse(null);
+        } finally {
+            em.close();
+        }
+    }
+
     @Override
     public List<Tarefa> listarPorUsuario(Usuario usuario) {
         EntityManager em = getEntityManager();
@@ -119,7 +203,7 @@ public class TarefaRepository implements ITarefaRepository {
             List<Tarefa> lista = em.createQuery("SELECT t FROM Tarefa t WHERE t.usuario = :usuario", Tarefa.class)
                     .setParameter("usuario", usuario)
                     .getResultList();
-            return lista != null ? lista : Collections.emptyList();
+            return lista != null ? comDono(lista, usuario) : Collections.emptyList();
         } catch (Exception e) {
             return Collections.emptyList();
         } finally {
@@ -127,16 +211,47 @@ public class TarefaRepository implements ITarefaRepository {
         }
     }
 
+    @Override
+    public List<TarefaResumo> listarResumos(Usuario usuario) {
+        EntityManager em = getEntityManager();
+        try {
+            return em.createQuery(SELECT_RESUMO + " WHERE t.usuario = :usuario ORDER BY t.id", TarefaResumo.class)
+                    .setParameter("usuario", usuario)
+                    .getResultList();
+        } catch (Exception e) {
+            return Collections.emptyList();
+        } finally {
+            em.close();
+        }
+    }
+
+    // Pela chave primária: o custo depende só de quantos ids vieram, não de quantas tarefas o usuário tem
+    @Override
+    public Set<Long> filtrarDoUsuario(Collection<Long> tarefaIds, Usuario usuario) {
+        if (tarefaIds.isEmpty())
+            return Collections.emptySet();
+        EntityManager em = getEntityManager();
+        try {
+            return new HashSet<>(em
+                    .createQuery("SELECT t.id FROM Tarefa t WHERE t.usuario = :usuario AND t.id IN :ids", Long.class)
+                    .setParameter("usuario", usuario)
+                    .setParameter("ids", tarefaIds)
+                    .getResultList());
+        } finally {
+            em.close();
+        }
+    }
+
     @Override
     public List<Tarefa> listarPorDataEUsuario(LocalDate data, Usuario usuario) {
         EntityManager em = getEntityManager();
         try {
-            return em
+            return comDono(em
                     .createQuery("SELECT t FROM Tarefa t WHERE t.deadline = :data AND t.usuario = :usuario",
                             Tarefa.class)
                     .setParameter("data", data)
                     .setParameter("usuario", usuario)
-                    .getResultList();
+                    .getResultList(), usuario);
         } catch (Exception e) {
             return Collections.emptyList();
         } finally {
@@ -144,13 +259,125 @@ public class TarefaRepository implements ITarefaRepository {
         }
     }
 
+    /**
+     * Monta uma consulta Criteria com "usuario = ?" mais o predicado do
+     * filtro e o ORDER BY da ordenação informados.
+     */
+    @Override
+    public Optional<List<Tarefa>> listarPorCriterios(Usuario usuario, IFiltroStrategy filtro,
+            IOrdenacaoStrategy ordenacao) {
+        EntityManager em = getEntityManager();
+        try {
+            CriteriaBuilder cb = em.getCriteriaBuilder();
+            CriteriaQuery<Tarefa> cq = cb.createQuery(Tarefa.class);
+            Root<Tarefa> tarefa = cq.from(Tarefa.class);
+
+            List<Predicate> condicoes = new ArrayList<>();
+            condicoes.add(cb.equal(tarefa.get("usuario"), usuario));
+            if (filtro != null) {
+                Predicate predicado = filtro.paraCriteria(cb, tarefa);
+                if (predicado == null)
+                    return Optional.empty(); // Filtro só em memória
+                condicoes.add(predicado);
+            }
+            cq.select(tarefa).where(condicoes.toArray(new Predicate[0]));
+
+            if (ordenacao != null) {
+                List<Order> ordem = ordenacao.paraCriteria(cb, tarefa);
+                if (ordem == null)
+                    return Optional.empty(); // Ordenação só em memória
+                cq.orderBy(ordem);
+            }
+            return Optional.of(comDono(em.createQuery(cq).getResultList(), usuario));
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Paginação por chave: em vez de OFFSET, continua a partir de (deadline,
+     * id) ou (prioridade, id) da última tarefa entregue, então o custo de
+     * cada página não cresce com a posição dela.
+     */
+    @Override
+    public Pagina<Tarefa> listarPagina(Usuario usuario, OrdemPaginacao ordem, String cursor, int tamanho) {
+        CursorTarefa inicio = cursor != null ? CursorTarefa.decodificar(cursor, ordem) : null;
+        EntityManager em = getEntityManager();
+        try {
+            TypedQuery<Tarefa> query = consultaPagina(em, "SELECT t FROM Tarefa t", Tarefa.class, usuario,
+                    ordem, inicio, tamanho);
+            return CursorTarefa.montarPagina(comDono(query.getResultList(), usuario), tamanho, ordem);
+        } finally {
+            em.close();
+        }
+    }
+
+    @Override
+    public Pagina<TarefaResumo> listarPaginaResumos(Usuario usuario, OrdemPaginacao ordem, String cursor,
+            int tamanho) {
+        CursorTarefa inicio = cursor != null ? CursorTarefa.decodificar(cursor, ordem) : null;
+        EntityManager em = getEntityManager();
+        try {
+            TypedQuery<TarefaResumo> query = consultaPagina(em, SELECT_RESUMO, TarefaResumo.class, usuario,
+                    ordem, inicio, tamanho);
+            return CursorTarefa.montarPaginaResumos(query.getResultList(), tamanho, ordem);
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Quem consulta por usuário já tem o dono em mãos: ele substitui o proxy
+     * LAZY, então ler nome/email da tarefa depois não dispara SELECT (nem
+     * LazyInitializationException com o EntityManager já fechado).
+     */
+    private static List<Tarefa> comDono(List<Tarefa> tarefas, Usuario usuario) {
+        for (Tarefa t : tarefas) {
+            t.setUsuario(usuario);
+        }
+        return tarefas;
+    }
+
+    private static Tarefa comDono(Tarefa tarefa, Usuario usuario) {
+        tarefa.setUsuario(usuario);
+        return tarefa;
+    }
+
+    private static <T> TypedQuery<T> consultaPagina(EntityManager em, String select, Class<T> tipo,
+            Usuario usuario, OrdemPaginacao ordem, CursorTarefa inicio, int tamanho) {
+        String jpql;
+        if (ordem == OrdemPaginacao.DEADLINE) {
+            jpql = select + " WHERE t.usuario = :usuario"
+                    + (inicio != null ? " AND (t.deadline > :chave OR (t.deadline = :chave AND t.id > :id))" : "")
+                    + " ORDER BY t.deadline, t.id";
+        } else {
+            jpql = select + " WHERE t.usuario = :usuario"
+                    + (inicio != null ? " AND (t.prioridade < :chave OR (t.prioridade = :chave AND t.id > :id))" : "")
+                    + " ORDER BY t.prioridade DESC, t.id";
+        }
+        TypedQuery<T> query = em.createQuery(jpql, tipo)
+                .setParameter("usuario", usuario)
+                .setMaxResults(tamanho + 1); // Uma a mais só para saber se há próxima página
+        if (inicio != null) {
+            query.setParameter("chave",
+                    ordem == OrdemPaginacao.DEADLINE ? inicio.getDeadline() : inicio.getPrioridade());
+            query.setParameter("id", inicio.getId());
+        }
+        return query;
+    }
+
+    // Quem busca pelo id (ex: atualizarPercentual) grava a tarefa no cache, então o dono vem junto
     @Override
     public Tarefa buscarPorId(Long id) {
         EntityManager em = getEntityManager();
         try {
-            return em.find(Tarefa.class, id);
+            return em.createQuery("SELECT t FROM Tarefa t JOIN FETCH t.usuario WHERE t.id = :id", Tarefa.class)
+                    .setParameter("id", id)
+                    .getResultStream()
+                    .findFirst()
+                    .orElse(null);
         } finally {
             em.close();
         }
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,66 +1,316 @@
 package repositorios;
 
+import cache.BarramentoInvalidacao;
+import cache.CacheLocalTarefas;
+import cache.CargaUnica;
+import cache.PoliticaEscrita;
+import interfaces.strategies.IFiltroStrategy;
+import interfaces.strategies.IOrdenacaoStrategy;
 import interfaces.repositories.ITarefaRepository;
+import modelo.OrdemPaginacao;
+import modelo.Pagina;
 import modelo.Tarefa;
+import modelo.TarefaResumo;
 import modelo.Usuario;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Proxy de Cache para o Repositório de Tarefas.
  * Intercepta as chamadas para adicionar lógica de cache transparente.
+ * <p>
+ * Camadas consultadas em ordem: cache L1 em memória (opcional), Redis e,
+ * por fim, o banco SQL.
+ * </p>
+ * <p>
+ * Após uma escrita confirmada no SQL, a {@link PoliticaEscrita} decide se o
+ * cache é invalidado ou se a alteração é aplicada nele (write-through).
+ * </p>
+ * <p>
+ * Em um MISS, apenas uma thread por usuário consulta o SQL; as demais
+ * aguardam o mesmo resultado. Com {@value #PROPRIEDADE_TRAVA}=true, uma
+ * trava curta no Redis estende isso a vários nós.
+ * </p>
+ * <p>
+ * Listas do Redis mais velhas que o TTL soft são devolvidas na hora e
+ * recarregadas do SQL em segundo plano (stale-while-revalidate), num
+ * executor com fila limitada.
+ * </p>
  */
 public class TarefaRepositoryProxy implements ITarefaRepository {
 
+    public static final String PROPRIEDADE_TRAVA = "todolist.cache.trava";
+    private static final long ESPERA_OUTRO_NO_MS = 2_000;
+    private static final long INTERVALO_ESPERA_MS = 50;
+
+    // Compartilhado entre os Proxies: poucas threads e fila curta (se lotar, tenta na próxima leitura)
+    private static final ExecutorService RECARGAS = new ThreadPoolExecutor(1, 2, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(64), r -> {
+                Thread t = new Thread(r, "recarga-tarefas");
+                t.setDaemon(true);
+                return t;
+            });
+
     private final ITarefaRepository repositorioReal; // O Banco SQL (TarefaRepository)
     private final TarefaCacheRepository cache;       // O Cache Redis
+    private final CacheLocalTarefas cacheLocal;      // O Cache L1 (pode ser null)
+    private final BarramentoInvalidacao barramento;  // Avisa outros nós (pode ser null)
+    private final PoliticaEscrita politica;
+    private final CargaUnica<Long, List<Tarefa>> cargas = new CargaUnica<>();
+    private final boolean travaDistribuida = Boolean.getBoolean(PROPRIEDADE_TRAVA);
+    private final Set<Long> recargasPendentes = ConcurrentHashMap.newKeySet();
 
     // Injetamos as duas dependências via construtor
     public TarefaRepositoryProxy(ITarefaRepository real, TarefaCacheRepository cache) {
+        this(real, cache, null);
+    }
+
+    public TarefaRepositoryProxy(ITarefaRepository real, TarefaCacheRepository cache, CacheLocalTarefas cacheLocal) {
+        this(real, cache, cacheLocal, null);
+    }
+
+    public TarefaRepositoryProxy(ITarefaRepository real, TarefaCacheRepository cache, CacheLocalTarefas cacheLocal,
+            BarramentoInvalidacao barramento) {
+        this(real, cache, cacheLocal, barramento, PoliticaEscrita.configurada());
+    }
+
+    public TarefaRepositoryProxy(ITarefaRepository real, TarefaCacheRepository cache, CacheLocalTarefas cacheLocal,
+            BarramentoInvalidacao barramento, PoliticaEscrita politica) {
         this.repositorioReal = real;
         this.cache = cache;
+        this.cacheLocal = cacheLocal;
+        this.barramento = barramento;
+        this.politica = politica;
     }
 
     @Override
     public List<Tarefa> listarPorUsuario(Usuario usuario) {
+        // Carimbo lido antes das camadas inferiores: se houver escrita no meio, a carga não é guardada
+        long versaoLocal = cacheLocal != null ? cacheLocal.versaoAtual() : 0;
+
+        List<Tarefa> emCache = buscarEmCache(usuario, versaoLocal);
+        if (emCache != null) {
+            return emCache;
+        }
+
+        // 2. Se não achar, pega do Banco Real (Lento), uma única carga por usuário
+        return cargas.executar(usuario.getId(), () -> carregarDoBanco(usuario, versaoLocal, false));
+    }
+
+    /**
+     * Procura a lista completa do usuário no L1 e depois no Redis (que
+     * também alimenta o L1 e agenda a recarga se estiver vencida).
+     *
+     * @return a lista, ou null se não estiver em nenhum dos dois
+     */
+    private List<Tarefa> buscarEmCache(Usuario usuario, long versaoLocal) {
+        // 0. Tenta o cache em memória (sem rede)
+        if (cacheLocal != null) {
+            List<Tarefa> tarefasLocal = cacheLocal.buscar(usuario.getId());
+            if (tarefasLocal != null) {
+                System.out.println("[PROXY] Cache L1 HIT - Retornando da memória local.");
+                return tarefasLocal;
+            }
+        }
+
         // 1. Tenta pegar do Cache (Rápido)
-        List<Tarefa> tarefasCache = cache.buscarCache(usuario.getId());
-        
-        if (tarefasCache != null) {
+        TarefaCacheRepository.Leitura leitura = cache.buscarCacheComIdade(usuario.getId());
+
+        if (leitura != null) {
             System.out.println("[PROXY] Cache HIT - Retornando do Redis.");
-            return tarefasCache;
+            guardarLocal(usuario.getId(), leitura.getTarefas(), versaoLocal);
+            if (leitura.isVencida()) {
+                recarregarEmSegundoPlano(usuario);
+            }
+            return leitura.getTarefas();
         }
+        return null;
+    }
 
-        // 2. Se não achar, pega do Banco Real (Lento)
-        System.out.println("[PROXY] Cache MISS - Buscando no SQL...");
-        List<Tarefa> tarefasSQL = repositorioReal.listarPorUsuario(usuario);
+    /**
+     * @param recarga true quando é a revalidação em segundo plano (ignora a
+     *                lista vencida que já está no Redis)
+     */
+    private List<Tarefa> carregarDoBanco(Usuario usuario, long versaoLocal, boolean recarga) {
+        Long usuarioId = usuario.getId();
+        String trava = null;
+        if (travaDistribuida) {
+            trava = cache.tentarTravarCarga(usuarioId);
+            if (recarga && trava == null) {
+                // Outro nó já está recarregando; quem aguarda esta carga recebe o que há no Redis
+                return cache.buscarCache(usuarioId);
+            }
+            // Outro nó já está carregando (ou acabou de carregar): usa o resultado dele
+            List<Tarefa> doOutroNo = null;
+            if (!recarga) {
+                doOutroNo = trava == null ? aguardarOutroNo(usuarioId) : cache.buscarCache(usuarioId);
+            }
+            if (doOutroNo != null) {
+                guardarLocal(usuarioId, doOutroNo, versaoLocal);
+                liberarTrava(usuarioId, trava);
+                return doOutroNo;
+            }
+        }
+        try {
+            System.out.println("[PROXY] Cache MISS - Buscando no SQL...");
+            String versaoRedis = cache.lerVersao(usuarioId);
+            List<Tarefa> tarefasSQL = repositorioReal.listarPorUsuario(usuario);
 
-        // 3. Salva no Cache para a próxima vez
-        if (tarefasSQL != null) {
-            cache.salvarCache(usuario.getId(), tarefasSQL);
+            // 3. Salva no Cache para a próxima vez (se ninguém escreveu durante a consulta)
+            if (tarefasSQL != null) {
+                if (versaoRedis != null) {
+                    cache.salvarCache(usuarioId, tarefasSQL, versaoRedis);
+                }
+                guardarLocal(usuarioId, tarefasSQL, versaoLocal);
+            }
+            return tarefasSQL;
+        } finally {
+            liberarTrava(usuarioId, trava);
         }
+    }
 
-        return tarefasSQL;
+    private void recarregarEmSegundoPlano(Usuario usuario) {
+        Long usuarioId = usuario.getId();
+        if (!recargasPendentes.add(usuarioId)) {
+            return; // Já agendada
+        }
+        try {
+            RECARGAS.execute(() -> {
+                try {
+                    long versaoLocal = cacheLocal != null ? cacheLocal.versaoAtual() : 0;
+                    System.out.println("[PROXY] Lista vencida (TTL soft) - recarregando em segundo plano.");
+                    cargas.executar(usuarioId, () -> carregarDoBanco(usuario, versaoLocal, true));
+                } catch (RuntimeException e) {
+                    System.out.println("[PROXY] Falha na recarga em segundo plano: " + e.getMessage());
+                } finally {
+                    recargasPendentes.remove(usuarioId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            recargasPendentes.remove(usuarioId); // Fila cheia: tenta de novo na próxima leitura
+        }
+    }
+
+    private List<Tarefa> aguardarOutroNo(Long usuarioId) {
+        long limite = System.currentTimeMillis() + ESPERA_OUTRO_NO_MS;
+        try {
+            while (cache.cargaEmAndamento(usuarioId) && System.currentTimeMillis() < limite) {
+                Thread.sleep(INTERVALO_ESPERA_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // null se o outro nó não gravou a tempo: segue para o SQL
+        return cache.buscarCache(usuarioId);
+    }
+
+    private void liberarTrava(Long usuarioId, String trava) {
+        if (trava != null) {
+            cache.liberarTravaCarga(usuarioId, trava);
+        }
     }
 
     @Override
     public void salvar(Tarefa tarefa) {
         // Salva no banco real
         repositorioReal.salvar(tarefa);
-        // Invalida o cache do usuário, pois a lista mudou
-        cache.invalidarCache(tarefa.getUsuario().getId());
+        // Atualiza só a tarefa alterada no hash do usuário no Redis
+        refletirGravacao(tarefa.getUsuario().getId(), tarefa);
+    }
+
+    @Override
+    public void salvarTodos(Collection<Tarefa> tarefas) {
+        repositorioReal.salvarTodos(tarefas);
+        // Em lote, aplicar tarefa por tarefa no cache custaria mais que recarregar: invalida cada usuário
+        Set<Long> usuarios = new LinkedHashSet<>();
+        for (Tarefa t : tarefas) {
+            usuarios.add(t.getUsuario().getId());
+        }
+        cache.invalidarVarios(usuarios);
+        for (Long usuarioId : usuarios) {
+            if (cacheLocal != null) {
+                cacheLocal.invalidar(usuarioId);
+            }
+            avisarOutrosNos(usuarioId);
+        }
     }
 
     @Override
     public void remover(Tarefa tarefa) {
         repositorioReal.remover(tarefa);
-        cache.invalidarCache(tarefa.getUsuario().getId());
+        Long usuarioId = tarefa.getUsuario().getId();
+        if (politica == PoliticaEscrita.WRITE_THROUGH && tarefa.getId() != null) {
+            cache.removerTarefa(usuarioId, tarefa.getId());
+            if (cacheLocal != null) {
+                cacheLocal.aplicarRemocao(usuarioId, tarefa.getId());
+            }
+            avisarOutrosNos(usuarioId);
+        } else {
+            invalidar(usuarioId);
+        }
     }
 
     @Override
     public void atualizar(Tarefa antiga, Tarefa nova) {
         repositorioReal.atualizar(antiga, nova);
-        cache.invalidarCache(antiga.getUsuario().getId());
+        refletirGravacao(antiga.getUsuario().getId(), nova);
+    }
+
+    private void refletirGravacao(Long usuarioId, Tarefa tarefa) {
+        // Sem id não há campo no hash: descarta a lista inteira
+        if (politica == PoliticaEscrita.WRITE_THROUGH && tarefa.getId() != null) {
+            cache.salvarTarefa(usuarioId, tarefa);
+            if (cacheLocal != null) {
+                cacheLocal.aplicarGravacao(usuarioId, tarefa);
+            }
+            avisarOutrosNos(usuarioId);
+        } else {
+            invalidar(usuarioId);
+        }
+    }
+
+    private void invalidar(Long usuarioId) {
+        cache.invalidarCache(usuarioId);
+        if (cacheLocal != null) {
+            cacheLocal.invalidar(usuarioId);
+        }
+        avisarOutrosNos(usuarioId);
+    }
+
+    private void avisarOutrosNos(Long usuarioId) {
+        // Outros nós descartam o L1 deles (o Redis é compartilhado)
+        if (barramento != null) {
+            barramento.publicar(usuarioId);
+        }
+    }
+
+    private void guardarLocal(Long usuarioId, List<Tarefa> tarefas, long versaoLida) {
+        if (cacheLocal != null) {
+            cacheLocal.guardarSeVersao(usuarioId, tarefas, versaoLida);
+        }
+    }
+
+    public CacheLocalTarefas getCacheLocal() {
+        return cacheLocal;
+    }
+
+    public PoliticaEscrita getPolitica() {
+        return politica;
+    }
+
+    public long getCargasCoalescidas() {
+        return cargas.getCoalescidas();
     }
 
     // Métodos de leitura que talvez não usem cache (delegam direto)
@@ -69,6 +319,11 @@ public class TarefaRepositoryProxy implements ITarefaRepository {
         return repositorioReal.buscarPorTitulo(titulo);
     }
 
+    @Override
+    public Tarefa buscarPorTitulo(String titulo, Usuario usuario) {
+        return repositorioReal.buscarPorTitulo(titulo, usuario);
+    }
+
     @Override
     public Tarefa buscarPorId(Long id) {
         return repositorioReal.buscarPorId(id);
@@ -78,8 +333,67 @@ public class TarefaRepositoryProxy implements ITarefaRepository {
     public List<Tarefa> listarTodas() {
         return repositorioReal.listarTodas();
     }
-    
+
+    /**
+     * Com a lista já no L1 ou no Redis, filtrar/ordenar em memória sai mais
+     * barato que ir ao banco: devolve vazio e quem chama usa
+     * {@link #listarPorUsuario(Usuario)}, que a encontra no cache. Só vai ao
+     * SQL com os critérios quando a lista não está em cache nenhum.
+     */
+    @Override
+    public Optional<List<Tarefa>> listarPorCriterios(Usuario usuario, IFiltroStrategy filtro,
+            IOrdenacaoStrategy ordenacao) {
+        if (cacheLocal != null && cacheLocal.contem(usuario.getId())) {
+            return Optional.empty();
+        }
+        // Só confere o marcador do hash (a lista é lida depois, uma vez só)
+        if (cache.contemLista(usuario.getId())) {
+            return Optional.empty();
+        }
+        return repositorioReal.listarPorCriterios(usuario, filtro, ordenacao);
+    }
+
+    /**
+     * Com a lista completa no L1 ou no Redis (o hash já tem todos os campos
+     * do resumo), o resumo sai dela sem ir ao banco. Caso contrário usa a
+     * projeção do SQL (pequena) em vez de trazer e guardar as tarefas
+     * completas só para listar.
+     */
+    @Override
+    public List<TarefaResumo> listarResumos(Usuario usuario) {
+        long versaoLocal = cacheLocal != null ? cacheLocal.versaoAtual() : 0;
+        List<Tarefa> emCache = buscarEmCache(usuario, versaoLocal);
+        if (emCache != null) {
+            return emCache.stream().map(TarefaResumo::de).collect(Collectors.toList());
+        }
+        return repositorioReal.listarResumos(usuario);
+    }
+
+    @Override
+    public Set<Long> filtrarDoUsuario(Collection<Long> tarefaIds, Usuario usuario) {
+        if (cacheLocal != null) {
+            List<Tarefa> tarefasLocal = cacheLocal.buscar(usuario.getId());
+            if (tarefasLocal != null) {
+                Set<Long> proprias = tarefasLocal.stream().map(Tarefa::getId).collect(Collectors.toSet());
+                return tarefaIds.stream().filter(proprias::contains).collect(Collectors.toSet());
+            }
+        }
+        return repositorioReal.filtrarDoUsuario(tarefaIds, usuario);
+    }
+
+    @Override
+    public Pagina<TarefaResumo> listarPaginaResumos(Usuario usuario, OrdemPaginacao ordem, String cursor,
+            int tamanho) {
+        return repositorioReal.listarPaginaResumos(usuario, ordem, cursor, tamanho);
+    }
+
+    // Páginas vão direto ao SQL: o objetivo é justamente não materializar a lista inteira
+    @Override
+    public Pagina<Tarefa> listarPagina(Usuario usuario, OrdemPaginacao ordem, String cursor, int tamanho) {
+        return repositorioReal.listarPagina(usuario, ordem, cursor, tamanho);
+    }
+
     // ... Implementar os outros métodos da interface apenas delegando para repositorioReal ...
     @Override public List<Tarefa> listarPorData(LocalDate data) { return repositorioReal.listarPorData(data); }
     @Override public List<Tarefa> listarPorDataEUsuario(LocalDate data, Usuario usuario) { return repositorioReal.listarPorDataEUsuario(data, usuario); }
-}
\ No newline at end of file
+}
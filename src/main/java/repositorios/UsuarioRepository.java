@@ -6,7 +6,12 @@ import interfaces.repositories.IUsuarioRepository;
 import modelo.Usuario;
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
+
 public class UsuarioRepository implements IUsuarioRepository {
+    /** Região do cache de consultas usada no login (ver ehcache.xml). */
+    public static final String REGIAO_CONSULTAS = "consultas.usuarios";
+
     private EntityManager getEntityManager() {
         return DatabaseManager.getInstance().getEntityManager();
     }
@@ -35,7 +40,10 @@ public class UsuarioRepository implements IUsuarioRepository {
         EntityManager em = getEntityManager();
         try {
             return em.createQuery("SELECT u FROM Usuario u WHERE u.emailFixo = :email", Usuario.class)
-                    .setParameter("email", email).getResultStream().findFirst().orElse(null);
+                    .setParameter("email", email)
+                    .setHint(HibernateHints.HINT_CACHEABLE, true)
+                    .setHint(HibernateHints.HINT_CACHE_REGION, REGIAO_CONSULTAS)
+                    .getResultList().stream().findFirst().orElse(null);
         } finally {
             em.close();
         }
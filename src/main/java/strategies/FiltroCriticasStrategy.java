@@ -1,7 +1,11 @@
 package strategies;
 
 import interfaces.strategies.IFiltroStrategy;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import modelo.Tarefa;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -14,10 +18,26 @@ import java.util.stream.Collectors;
  */
 public class FiltroCriticasStrategy implements IFiltroStrategy {
 
+    // Maior prioridade oferecida na tela de cadastro
+    private static final int PRIORIDADE_MAXIMA = 5;
+
     @Override
     public List<Tarefa> filtrar(List<Tarefa> tarefas) {
         return tarefas.stream()
                 .filter(Tarefa::isCritica)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Crítica = deadline - prioridade <= hoje. Como a prioridade varia por
+     * tarefa, o banco recebe um corte pelo deadline (usa o índice) e o
+     * cálculo exato continua em {@link #filtrar(List)}.
+     */
+    @Override
+    public Predicate paraCriteria(CriteriaBuilder cb, Root<Tarefa> tarefa) {
+        LocalDate limite = LocalDate.now().plusDays(PRIORIDADE_MAXIMA);
+        return cb.or(
+                cb.lessThanOrEqualTo(tarefa.<LocalDate>get("deadline"), limite),
+                cb.greaterThan(tarefa.<Integer>get("prioridade"), PRIORIDADE_MAXIMA));
+    }
 }
@@ -1,6 +1,9 @@
 package strategies;
 
 import interfaces.strategies.IFiltroStrategy;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import modelo.Tarefa;
 import java.time.LocalDate;
 import java.util.List;
@@ -25,4 +28,9 @@ public class FiltroPorDataStrategy implements IFiltroStrategy {
                 .filter(t -> t.getDeadline().equals(dataAlvo))
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public Predicate paraCriteria(CriteriaBuilder cb, Root<Tarefa> tarefa) {
+        return dataAlvo == null ? cb.conjunction() : cb.equal(tarefa.get("deadline"), dataAlvo);
+    }
 }
@@ -5,6 +5,9 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import interfaces.strategies.IOrdenacaoStrategy;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Root;
 import modelo.Tarefa;
 
 /**
@@ -18,4 +21,10 @@ public class OrdenacaoPorDataStrategy implements IOrdenacaoStrategy {
                 .sorted(Comparator.comparing(Tarefa::getDeadline))
                 .collect(Collectors.toList());
     }
+
+    // O id desempata como a ordenação estável em memória (ordem de inserção)
+    @Override
+    public List<Order> paraCriteria(CriteriaBuilder cb, Root<Tarefa> tarefa) {
+        return List.of(cb.asc(tarefa.get("deadline")), cb.asc(tarefa.get("id")));
+    }
 }
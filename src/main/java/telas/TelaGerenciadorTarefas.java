@@ -1,7 +1,11 @@
 package telas;
 
 import java.awt.*;
+import java.util.List;
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+
+import importacao.ResultadoImportacao;
 
 import modelo.Tarefa;
 import negocio.ToDoList;
@@ -33,6 +37,7 @@ public class TelaGerenciadorTarefas extends JPanel {
         JButton btnEditar = new JButton("Editar Tarefa");
         JButton btnExcluir = new JButton("Excluir Tarefa");
         JButton btnSubtarefas = new JButton("Gerenciar Subtarefas");
+        JButton btnImportar = new JButton("Importar Tarefas (CSV/JSON)");
         JButton btnVoltar = new JButton("Voltar");
 
         btnCadastrar.setFont(new Font("Arial", Font.PLAIN, 18));
@@ -42,6 +47,7 @@ public class TelaGerenciadorTarefas extends JPanel {
         btnEditar.setFont(new Font("Arial", Font.PLAIN, 18));
         btnExcluir.setFont(new Font("Arial", Font.PLAIN, 18));
         btnSubtarefas.setFont(new Font("Arial", Font.PLAIN, 18));
+        btnImportar.setFont(new Font("Arial", Font.PLAIN, 18));
         btnVoltar.setFont(new Font("Arial", Font.PLAIN, 18));
 
         botoes.add(btnCadastrar);
@@ -51,6 +57,7 @@ public class TelaGerenciadorTarefas extends JPanel {
         botoes.add(btnEditar);
         botoes.add(btnExcluir);
         botoes.add(btnSubtarefas);
+        botoes.add(btnImportar);
         botoes.add(btnVoltar);
 
         add(botoes, BorderLayout.CENTER);
@@ -124,10 +131,65 @@ public class TelaGerenciadorTarefas extends JPanel {
                 }
             }
         });
+        btnImportar.addActionListener(e -> importarArquivo(btnImportar));
         btnVoltar.addActionListener(e -> {
             frame.setContentPane(frame.criarPainelPrincipal());
             frame.revalidate();
             frame.repaint();
         });
     }
+
+    private void importarArquivo(JButton btnImportar) {
+        JFileChooser seletor = new JFileChooser();
+        seletor.setFileFilter(new FileNameExtensionFilter("Tarefas (CSV ou JSON)", "csv", "json", "jsonl", "ndjson"));
+        if (seletor.showOpenDialog(frame) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        String textoOriginal = btnImportar.getText();
+        btnImportar.setEnabled(false);
+
+        // Importação fora da thread da interface; o botão mostra o andamento
+        new SwingWorker<ResultadoImportacao, ResultadoImportacao>() {
+            @Override
+            protected ResultadoImportacao doInBackground() throws Exception {
+                return sistema.importarTarefas(seletor.getSelectedFile().toPath(),
+                        progresso -> publish((ResultadoImportacao) progresso));
+            }
+
+            @Override
+            protected void process(List<ResultadoImportacao> andamento) {
+                ResultadoImportacao atual = andamento.get(andamento.size() - 1);
+                btnImportar.setText("Importando... " + atual.getImportadas() + " tarefas gravadas");
+            }
+
+            @Override
+            protected void done() {
+                btnImportar.setText(textoOriginal);
+                btnImportar.setEnabled(true);
+                try {
+                    ResultadoImportacao resultado = get();
+                    if (resultado == null) {
+                        JOptionPane.showMessageDialog(frame, "Faça login para importar tarefas.");
+                        return;
+                    }
+                    StringBuilder msg = new StringBuilder();
+                    msg.append("Importadas: ").append(resultado.getImportadas())
+                            .append("\nRejeitadas: ").append(resultado.getRejeitadas());
+                    List<ResultadoImportacao.Erro> erros = resultado.getErros();
+                    for (int i = 0; i < Math.min(10, erros.size()); i++) {
+                        msg.append("\n").append(erros.get(i));
+                    }
+                    if (resultado.getRejeitadas() > 10) {
+                        msg.append("\n...");
+                    }
+                    JOptionPane.showMessageDialog(frame, msg.toString(), "Importação concluída",
+                            JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception ex) {
+                    Throwable causa = ex.getCause() != null ? ex.getCause() : ex;
+                    JOptionPane.showMessageDialog(frame, "Erro na importação: " + causa.getMessage(), "Erro",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
 }
\ No newline at end of file
@@ -3,13 +3,21 @@ package telas;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.awt.event.MouseEvent;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
+import modelo.OrdemPaginacao;
+import modelo.Pagina;
+import modelo.ProgressoSubtarefas;
+import modelo.Subtarefa;
 import modelo.Tarefa;
+import modelo.TarefaResumo;
 import negocio.ToDoList;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import interfaces.observer.IObserver;
 
@@ -21,6 +29,12 @@ public class TelaListarTarefas extends JPanel implements IObserver {
     private final DefaultTableModel modelo;
     private final JComboBox<String> comboOrdenacao;
 
+    // Paginação (telas ordenadas): próxima página é buscada ao rolar até o fim
+    private static final int TAMANHO_PAGINA = 50;
+    private OrdemPaginacao ordemPaginada;
+    private String proximoCursor;
+    private boolean carregandoPagina;
+
     public TelaListarTarefas(TelaPrincipal frame, ToDoList sistema, String tituloTela) {
         this(frame, sistema, tituloTela, null);
     }
@@ -65,14 +79,32 @@ public class TelaListarTarefas extends JPanel implements IObserver {
         add(painelSuperior, BorderLayout.NORTH);
 
         // Tabela
-        String[] colunas = { "Título", "Descrição", "Deadline", "Prioridade", "Percentual" };
+        String[] colunas = { "Título", "Descrição", "Deadline", "Prioridade", "Percentual", "Subtarefas" };
         modelo = new DefaultTableModel(colunas, 0);
-        tabela = new JTable(modelo);
+        tabela = new JTable(modelo) {
+            @Override
+            public String getToolTipText(MouseEvent e) {
+                int linha = rowAtPoint(e.getPoint());
+                int coluna = columnAtPoint(e.getPoint());
+                if (linha >= 0 && coluna >= 0 && getValueAt(linha, coluna) instanceof ResumoSubtarefas r)
+                    return r.dica();
+                return super.getToolTipText(e);
+            }
+        };
         tabela.setFont(new Font("Arial", Font.PLAIN, 14));
         tabela.setRowHeight(25);
 
         JScrollPane scrollTabela = new JScrollPane(tabela);
         scrollTabela.setPreferredSize(new Dimension(0, 300));
+        scrollTabela.getVerticalScrollBar().addAdjustmentListener(e -> {
+            JScrollBar barra = scrollTabela.getVerticalScrollBar();
+            // Faltando poucas linhas para o fim, já pede a próxima página
+            boolean pertoDoFim = barra.getValue() + barra.getVisibleAmount()
+                    >= barra.getMaximum() - tabela.getRowHeight() * 5;
+            if (pertoDoFim && !e.getValueIsAdjusting()) {
+                carregarProximaPagina();
+            }
+        });
         add(scrollTabela, BorderLayout.CENTER);
 
         // Botões
@@ -163,51 +195,138 @@ public class TelaListarTarefas extends JPanel implements IObserver {
     }
 
     private void carregarTarefas(String dataStr) {
-        List<Tarefa> tarefas;
+        List<TarefaResumo> tarefas;
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
         // Determinar quais tarefas carregar baseado no título
         if (tituloTela.equals("Tarefas por Data") && dataStr != null) {
             try {
                 LocalDate dataSelecionada = LocalDate.parse(dataStr, formatter);
-                tarefas = sistema.listarTarefasPorData(dataSelecionada);
+                tarefas = resumir(sistema.listarTarefasPorData(dataSelecionada));
             } catch (Exception e) {
                 JOptionPane.showMessageDialog(frame, "Data inválida! Mostrando todas as tarefas.");
-                tarefas = sistema.listarTodasTarefas();
+                tarefas = sistema.listarResumosTarefas();
             }
         } else if (tituloTela.equals("Tarefas Críticas")) {
-            tarefas = sistema.listarTarefasCriticas();
+            tarefas = resumir(sistema.listarTarefasCriticas());
         } else {
             // Verifica ordenação se estiver na tela "Todas as Tarefas"
             if (comboOrdenacao != null) {
                 String opcao = (String) comboOrdenacao.getSelectedItem();
                 if ("Por Data".equals(opcao)) {
-                    tarefas = sistema.listarTarefasOrdenadasPorData();
+                    iniciarPaginacao(OrdemPaginacao.DEADLINE);
+                    return;
                 } else if ("Por Prioridade".equals(opcao)) {
-                    tarefas = sistema.listarTarefasOrdenadasPorPrioridade();
+                    iniciarPaginacao(OrdemPaginacao.PRIORIDADE);
+                    return;
                 } else {
-                    tarefas = sistema.listarTodasTarefas();
+                    tarefas = sistema.listarResumosTarefas();
                 }
             } else {
-                tarefas = sistema.listarTodasTarefas();
+                tarefas = sistema.listarResumosTarefas();
             }
         }
 
+        ordemPaginada = null;
+        proximoCursor = null;
+
         // Limpar tabela
         modelo.setRowCount(0);
+        adicionarLinhas(tarefas);
+    }
+
+    private void iniciarPaginacao(OrdemPaginacao ordem) {
+        ordemPaginada = ordem;
+        proximoCursor = null;
+        modelo.setRowCount(0);
+        buscarPagina();
+    }
+
+    private void carregarProximaPagina() {
+        if (ordemPaginada != null && proximoCursor != null && !carregandoPagina) {
+            buscarPagina();
+        }
+    }
+
+    private void buscarPagina() {
+        carregandoPagina = true;
+        try {
+            Pagina<TarefaResumo> pagina = sistema.listarTarefasPaginadas(ordemPaginada, proximoCursor, TAMANHO_PAGINA);
+            proximoCursor = pagina.getProximoCursor();
+            adicionarLinhas(pagina.getItens());
+        } finally {
+            carregandoPagina = false;
+        }
+    }
+
+    // Filtros ainda trabalham sobre as tarefas completas; a tabela só usa o resumo
+    private static List<TarefaResumo> resumir(List<Tarefa> tarefas) {
+        return tarefas.stream().map(TarefaResumo::de).collect(Collectors.toList());
+    }
+
+    private void adicionarLinhas(List<TarefaResumo> tarefas) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        // Contagens da página inteira numa consulta só (resumos de progresso) e,
+        // para os tooltips, as subtarefas de todas as tarefas da página em outra
+        List<Long> ids = tarefas.stream().map(TarefaResumo::id).collect(Collectors.toList());
+        Map<Long, ProgressoSubtarefas> progresso = sistema.progressoSubtarefas(ids);
+        List<Long> comSubtarefas = ids.stream()
+                .filter(id -> progresso.getOrDefault(id, ProgressoSubtarefas.VAZIO).quantidade() > 0)
+                .collect(Collectors.toList());
+        Map<Long, List<Subtarefa>> subtarefas = comSubtarefas.isEmpty() ? Map.of()
+                : sistema.listarSubtarefasPorTarefas(comSubtarefas);
 
         // Adicionar tarefas à tabela
-        for (Tarefa tarefa : tarefas) {
+        for (TarefaResumo tarefa : tarefas) {
+            ResumoSubtarefas subs = new ResumoSubtarefas(
+                    progresso.getOrDefault(tarefa.id(), ProgressoSubtarefas.VAZIO),
+                    subtarefas.getOrDefault(tarefa.id(), List.of()));
             modelo.addRow(new Object[] {
-                    tarefa.getTitulo(),
-                    tarefa.getDescricao(),
-                    tarefa.getDeadline().format(formatter),
-                    tarefa.getPrioridade(),
-                    String.format("%.1f%%", tarefa.getPercentual())
+                    tarefa.titulo(),
+                    tarefa.descricao(),
+                    tarefa.deadline().format(formatter),
+                    tarefa.prioridade(),
+                    String.format("%.1f%%", tarefa.percentual()),
+                    subs
             });
         }
     }
 
+    // Célula "Subtarefas": mostra concluídas/total; o HTML do tooltip é
+    // montado na primeira vez que ele aparece, com as subtarefas já carregadas
+    private static final class ResumoSubtarefas {
+        private final ProgressoSubtarefas progresso;
+        private final List<Subtarefa> subtarefas;
+        private String dica;
+
+        ResumoSubtarefas(ProgressoSubtarefas progresso, List<Subtarefa> subtarefas) {
+            this.progresso = progresso;
+            this.subtarefas = subtarefas;
+        }
+
+        String dica() {
+            if (progresso.quantidade() == 0)
+                return null;
+            if (dica == null) {
+                StringBuilder sb = new StringBuilder("<html>");
+                for (Subtarefa s : subtarefas) {
+                    sb.append(String.format("%s - %.1f%%<br>", escapar(s.getTitulo()), s.getPercentual()));
+                }
+                dica = sb.append("</html>").toString();
+            }
+            return dica;
+        }
+
+        private static String escapar(String texto) {
+            return texto == null ? "" : texto.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+        }
+
+        @Override
+        public String toString() {
+            return progresso.quantidade() == 0 ? "-" : progresso.concluidas() + "/" + progresso.quantidade();
+        }
+    }
+
     public DefaultTableModel getModelo() {
         return modelo;
     }
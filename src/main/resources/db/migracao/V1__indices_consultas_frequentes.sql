@@ -0,0 +1,24 @@
+-- Índices para as consultas dos repositórios (as tabelas são criadas pelo Hibernate).
+
+-- Listagens por usuário ordenadas/filtradas por deadline. O id no fim atende
+-- o desempate da paginação por chave (deadline, id).
+CREATE INDEX IF NOT EXISTS idx_tarefas_usuario_deadline ON tarefas (usuario_id, deadline, id);
+
+-- Busca de tarefa por título dentro das tarefas do usuário.
+CREATE INDEX IF NOT EXISTS idx_tarefas_usuario_titulo ON tarefas (usuario_id, titulo);
+
+-- Eventos por data. A restrição UNIQUE de data_evento já cria um índice quando
+-- o Hibernate consegue aplicá-la; só cria outro se nenhum índice começar pela coluna.
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1
+          FROM pg_index i
+          JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = i.indkey[0]
+         WHERE i.indrelid = 'eventos'::regclass
+           AND a.attname = 'data_evento'
+    ) THEN
+        CREATE INDEX idx_eventos_data_evento ON eventos (data_evento);
+    END IF;
+END
+$$;
@@ -0,0 +1,6 @@
+-- Ids de Tarefa passam a vir de uma sequence (otimizador pooled, allocationSize = 50)
+-- para o Hibernate poder agrupar os INSERTs em lote. Se o hbm2ddl já criou a
+-- sequence, ela começou do 1: reposiciona depois do maior id existente.
+CREATE SEQUENCE IF NOT EXISTS tarefas_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('tarefas_seq', COALESCE((SELECT MAX(id) FROM tarefas), 0) + 50, false);
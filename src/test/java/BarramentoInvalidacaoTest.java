@@ -0,0 +1,107 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import cache.BarramentoInvalidacao;
+import cache.CacheLocalTarefas;
+import interfaces.cache.ICanalPubSub;
+import modelo.Tarefa;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Testes do barramento de invalidação entre nós.
+ * Usa um canal em memória no lugar do Redis Pub/Sub.
+ */
+public class BarramentoInvalidacaoTest {
+
+    private CanalEmMemoria redisFalso;
+    private CacheLocalTarefas cacheNo1;
+    private CacheLocalTarefas cacheNo2;
+    private BarramentoInvalidacao barramentoNo1;
+    private BarramentoInvalidacao barramentoNo2;
+
+    @BeforeEach
+    void setUp() {
+        redisFalso = new CanalEmMemoria();
+
+        cacheNo1 = new CacheLocalTarefas();
+        barramentoNo1 = new BarramentoInvalidacao(redisFalso);
+        barramentoNo1.adicionarObservador(cacheNo1);
+        barramentoNo1.iniciar();
+
+        cacheNo2 = new CacheLocalTarefas();
+        barramentoNo2 = new BarramentoInvalidacao(redisFalso);
+        barramentoNo2.adicionarObservador(cacheNo2);
+        barramentoNo2.iniciar();
+    }
+
+    @Test
+    void testEscritaEmUmNoInvalidaOutroNo() {
+        // Arrange
+        List<Tarefa> tarefas = List.of(new Tarefa());
+        cacheNo1.guardar(10L, tarefas);
+        cacheNo2.guardar(10L, tarefas);
+        cacheNo2.guardar(20L, tarefas);
+
+        // Act: nó 1 grava uma tarefa do usuário 10
+        barramentoNo1.publicar(10L);
+
+        // Assert
+        assertNull(cacheNo2.buscar(10L));
+        assertNotNull(cacheNo2.buscar(20L));
+        // O próprio nó ignora o eco (já invalidou localmente no Proxy)
+        assertNotNull(cacheNo1.buscar(10L));
+    }
+
+    @Test
+    void testReconexaoLimpaCacheLocal() {
+        cacheNo2.guardar(10L, List.of(new Tarefa()));
+
+        // Invalidações podem ter sido perdidas enquanto o canal estava fora
+        redisFalso.reconectar();
+
+        assertNull(cacheNo2.buscar(10L));
+        assertEquals(0, cacheNo2.getQuantidadeEntradas());
+    }
+
+    /**
+     * Stand-in do Redis Pub/Sub: entrega as mensagens de forma síncrona
+     * para todos os assinantes do canal.
+     */
+    private static class CanalEmMemoria implements ICanalPubSub {
+        private final List<String> canais = new ArrayList<>();
+        private final List<Consumer<String>> receptores = new ArrayList<>();
+        private final List<Runnable> conexoes = new ArrayList<>();
+
+        @Override
+        public void publicar(String canal, String mensagem) {
+            for (int i = 0; i < canais.size(); i++) {
+                if (canais.get(i).equals(canal)) {
+                    receptores.get(i).accept(mensagem);
+                }
+            }
+        }
+
+        @Override
+        public void assinar(String canal, Consumer<String> receptor, Runnable aoConectar) {
+            canais.add(canal);
+            receptores.add(receptor);
+            conexoes.add(aoConectar);
+            aoConectar.run();
+        }
+
+        void reconectar() {
+            conexoes.forEach(Runnable::run);
+        }
+
+        @Override
+        public void fechar() {
+            canais.clear();
+            receptores.clear();
+            conexoes.clear();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import cache.CacheLocalTarefas;
+import modelo.Tarefa;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testes do cache L1: despejo LRU pelo peso, TTL e recusa de listas
+ * carregadas antes de uma escrita. O relógio é controlado pelo teste.
+ */
+public class CacheLocalTarefasTest {
+
+    private long relogio;
+    private CacheLocalTarefas cache;
+
+    @BeforeEach
+    void setUp() {
+        relogio = 0;
+        cache = new CacheLocalTarefas(10, 1_000) {
+            @Override
+            protected long agora() {
+                return relogio;
+            }
+        };
+    }
+
+    private static List<Tarefa> tarefas(int quantidade) {
+        List<Tarefa> lista = new ArrayList<>();
+        for (long i = 1; i <= quantidade; i++) {
+            Tarefa t = new Tarefa();
+            t.setId(i);
+            lista.add(t);
+        }
+        return lista;
+    }
+
+    @Test
+    void deveDespejarAMenosUsadaQuandoPassaDoPeso() {
+        // Arrange
+        cache.guardar(1L, tarefas(4));
+        cache.guardar(2L, tarefas(4));
+        cache.buscar(1L); // 2 passa a ser a menos usada
+
+        // Act
+        cache.guardar(3L, tarefas(4));
+
+        // Assert
+        assertNull(cache.buscar(2L));
+        assertNotNull(cache.buscar(1L));
+        assertNotNull(cache.buscar(3L));
+        assertEquals(8, cache.getPesoAtual());
+        assertEquals(1, cache.getDespejos());
+    }
+
+    @Test
+    void naoDeveGuardarListaMaiorQueOCacheInteiro() {
+        // Arrange
+        cache.guardar(1L, tarefas(3));
+
+        // Act
+        cache.guardar(2L, tarefas(11));
+
+        // Assert
+        assertNull(cache.buscar(2L));
+        assertNotNull(cache.buscar(1L));
+        assertEquals(3, cache.getPesoAtual());
+    }
+
+    @Test
+    void entradaDeveExpirarNoTtl() {
+        // Arrange
+        cache.guardar(1L, tarefas(2));
+
+        // Act
+        relogio = 999;
+        boolean antes = cache.contem(1L);
+        relogio = 1_000;
+
+        // Assert
+        assertTrue(antes);
+        assertFalse(cache.contem(1L));
+        assertNull(cache.buscar(1L));
+        assertEquals(0, cache.getPesoAtual());
+    }
+
+    @Test
+    void gravacaoNaoDeveRenovarOTtl() {
+        // Arrange
+        cache.guardar(1L, tarefas(2));
+        relogio = 900;
+
+        // Act
+        Tarefa nova = new Tarefa();
+        nova.setId(3L);
+        cache.aplicarGravacao(1L, nova);
+        relogio = 1_000;
+
+        // Assert
+        assertNull(cache.buscar(1L));
+    }
+
+    @Test
+    void deveRecusarListaLidaAntesDeUmaEscrita() {
+        // Arrange
+        long versaoLida = cache.versaoAtual();
+        cache.invalidar(1L); // Escrita concorrente enquanto a lista era carregada
+
+        // Act
+        boolean guardada = cache.guardarSeVersao(1L, tarefas(2), versaoLida);
+
+        // Assert
+        assertFalse(guardada);
+        assertNull(cache.buscar(1L));
+        assertTrue(cache.guardarSeVersao(1L, tarefas(2), cache.versaoAtual()));
+    }
+}
@@ -0,0 +1,48 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import cache.CargaUnica;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Testes da coalescência de cargas (single-flight) em falhas.
+ */
+public class CargaUnicaTest {
+
+    @Test
+    void errorNaCargaDeveLiberarQuemEspera() throws Exception {
+        // Arrange
+        CargaUnica<Long, String> carga = new CargaUnica<>();
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<String> primeira = CompletableFuture.supplyAsync(() -> carga.executar(1L, () -> {
+            iniciada.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new AssertionError("falha grave");
+        }));
+        assertTrue(iniciada.await(5, TimeUnit.SECONDS));
+
+        // Act: a segunda chamada se junta à carga em andamento
+        CompletableFuture<String> segunda = CompletableFuture.supplyAsync(() -> carga.executar(1L, () -> "nova"));
+        while (carga.getCoalescidas() == 0 && !segunda.isDone())
+            Thread.onSpinWait();
+        liberar.countDown();
+
+        // Assert: ninguém fica preso e a chave é liberada para a próxima carga
+        Exception erroPrimeira = assertThrows(Exception.class, () -> primeira.get(5, TimeUnit.SECONDS));
+        assertTrue(erroPrimeira.getCause() instanceof AssertionError);
+        try {
+            segunda.get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            assertTrue(e.getCause() instanceof AssertionError);
+        }
+        assertEquals("ok", carga.executar(1L, () -> "ok"));
+    }
+}
@@ -0,0 +1,64 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import persistencia.CircuitBreaker;
+
+/**
+ * Testes das transições de estado do Circuit Breaker.
+ * O relógio é controlado pelo teste.
+ */
+public class CircuitBreakerTest {
+
+    private long relogio;
+    private CircuitBreaker circuito;
+
+    @BeforeEach
+    void setUp() {
+        relogio = 0;
+        circuito = new CircuitBreaker("TESTE", 2, 1_000) {
+            @Override
+            protected long agora() {
+                return relogio;
+            }
+        };
+    }
+
+    @Test
+    void deveAbrirAposFalhasSeguidasERecusarChamadas() {
+        // Arrange
+        circuito.permitir();
+        circuito.registrarFalha();
+        circuito.permitir();
+        circuito.registrarFalha();
+
+        // Act
+        boolean permitido = circuito.permitir();
+
+        // Assert
+        assertFalse(permitido);
+        assertEquals(CircuitBreaker.Estado.ABERTO, circuito.getEstado());
+        assertEquals(1, circuito.getAberturas());
+        assertEquals(1, circuito.getRejeitadas());
+    }
+
+    @Test
+    void deveLiberarUmaChamadaDeTesteEFecharComSucesso() {
+        // Arrange
+        circuito.registrarFalha();
+        circuito.registrarFalha();
+        relogio = 1_000;
+
+        // Act
+        boolean teste = circuito.permitir();
+        boolean outra = circuito.permitir();
+        circuito.registrarSucesso();
+
+        // Assert
+        assertTrue(teste);
+        assertFalse(outra, "Só uma chamada passa enquanto meio aberto");
+        assertEquals(CircuitBreaker.Estado.FECHADO, circuito.getEstado());
+        assertEquals(1, circuito.getMeiasAberturas());
+        assertEquals(1, circuito.getFechamentos());
+    }
+}
@@ -0,0 +1,81 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import cache.CodecBinarioTarefas;
+import modelo.Tarefa;
+import modelo.Usuario;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Testes unitários do codec binário usado no cache de tarefas.
+ */
+public class CodecBinarioTarefasTest {
+
+    private final CodecBinarioTarefas codec = new CodecBinarioTarefas();
+
+    @Test
+    void testIdaEVoltaPreservaCampos() {
+        // Arrange
+        Usuario usuario = new Usuario("Teste", "teste@teste.com", "hash-secreto");
+        usuario.setId(7L);
+        Tarefa tarefa = new Tarefa("Título çãé 日本", "Descrição", LocalDate.of(2024, 1, 10),
+                LocalDate.of(2024, 2, 1), 3);
+        tarefa.setId(300L);
+        tarefa.setPercentual(62.5);
+        tarefa.setDataConcretizacao(LocalDate.of(2024, 1, 31));
+        tarefa.setUsuario(usuario);
+
+        // Act
+        List<Tarefa> resultado = codec.decodificar(codec.codificar(List.of(tarefa)));
+
+        // Assert
+        assertEquals(1, resultado.size());
+        Tarefa lida = resultado.get(0);
+        assertEquals(300L, lida.getId());
+        assertEquals("Título çãé 日本", lida.getTitulo());
+        assertEquals("Descrição", lida.getDescricao());
+        assertEquals(LocalDate.of(2024, 1, 10), lida.getDataCadastro());
+        assertEquals(LocalDate.of(2024, 2, 1), lida.getDeadline());
+        assertEquals(LocalDate.of(2024, 1, 31), lida.getDataConcretizacao());
+        assertEquals(62.5, lida.getPercentual());
+        assertEquals(3, lida.getPrioridade());
+        assertEquals(7L, lida.getUsuario().getId());
+        // Do dono só vai o id; o hash da senha nunca deve ir para o cache
+        assertNull(lida.getUsuario().getEmail());
+        assertNull(lida.getUsuario().getSenha());
+    }
+
+    @Test
+    void testCamposNulosEListaVazia() {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setPrioridade(-1);
+
+        List<Tarefa> resultado = codec.decodificar(codec.codificar(List.of(tarefa)));
+
+        assertNull(resultado.get(0).getId());
+        assertNull(resultado.get(0).getTitulo());
+        assertNull(resultado.get(0).getUsuario());
+        assertEquals(-1, resultado.get(0).getPrioridade());
+        assertTrue(codec.decodificar(codec.codificar(List.of())).isEmpty());
+    }
+
+    @Test
+    void testTarefaAvulsaParaCampoDoHash() {
+        Tarefa tarefa = new Tarefa("Avulsa", "", LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 5), 2);
+        tarefa.setId(9L);
+
+        Tarefa lida = codec.decodificarTarefa(codec.codificarTarefa(tarefa));
+
+        assertEquals(9L, lida.getId());
+        assertEquals("Avulsa", lida.getTitulo());
+        assertEquals(LocalDate.of(2024, 3, 5), lida.getDeadline());
+    }
+
+    @Test
+    void testVersaoDesconhecidaEhRejeitada() {
+        byte[] xmlAntigo = "<list></list>".getBytes();
+        assertThrows(IllegalStateException.class, () -> codec.decodificar(xmlAntigo));
+    }
+}
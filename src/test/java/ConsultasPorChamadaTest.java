@@ -0,0 +1,158 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import controle.services.TarefaService;
+import jakarta.persistence.EntityManager;
+import modelo.OrdemPaginacao;
+import modelo.Tarefa;
+import modelo.Usuario;
+import persistencia.DatabaseManager;
+import repositorios.TarefaRepository;
+import repositorios.UsuarioRepository;
+import validadores.ValidadorTarefa;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Conta os comandos SQL de cada chamada do serviço de tarefas (sem cache),
+ * para pegar regressões de N+1: o número de consultas não pode crescer com
+ * a quantidade de tarefas. Precisa do PostgreSQL local (docker-compose);
+ * sem ele os testes são ignorados. O usuário e as tarefas criados são
+ * apagados ao final de cada teste.
+ */
+public class ConsultasPorChamadaTest {
+
+    private static final String EMAIL = "consultas@todolist.com";
+
+    private TarefaRepository repositorio;
+    private TarefaService service;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        try {
+            // O contador só existe nos testes: entra como propriedade do EMF
+            DatabaseManager.getInstance(Map.of("hibernate.session_factory.statement_inspector",
+                    ContadorConsultas.class.getName()));
+        } catch (RuntimeException e) {
+            assumeTrue(false, "PostgreSQL local indisponível: " + e.getMessage());
+        }
+        repositorio = new TarefaRepository();
+        service = new TarefaService(repositorio, new ValidadorTarefa());
+        UsuarioRepository usuarios = new UsuarioRepository();
+        usuario = usuarios.buscarPorEmail(EMAIL);
+        if (usuario == null) {
+            usuarios.salvar(new Usuario("Consultas", EMAIL, "-"));
+            usuario = usuarios.buscarPorEmail(EMAIL);
+        }
+        criarTarefas(10);
+    }
+
+    private void criarTarefas(int quantidade) {
+        List<Tarefa> novas = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Tarefa t = new Tarefa("N+1 " + System.nanoTime(), "", LocalDate.now(), LocalDate.now().plusDays(i), 2);
+            t.setUsuario(usuario);
+            novas.add(t);
+        }
+        repositorio.salvarTodos(novas);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (usuario == null)
+            return;
+        EntityManager em = DatabaseManager.getInstance().getEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.createQuery("DELETE FROM Tarefa t WHERE t.usuario.id = :id")
+                    .setParameter("id", usuario.getId()).executeUpdate();
+            em.createQuery("DELETE FROM Usuario u WHERE u.id = :id")
+                    .setParameter("id", usuario.getId()).executeUpdate();
+            em.getTransaction().commit();
+        } finally {
+            if (em.getTransaction().isActive())
+                em.getTransaction().rollback();
+            em.close();
+        }
+    }
+
+    private <T> T contar(long esperado, Supplier<T> chamada) {
+        ContadorConsultas.zerar();
+        T resultado = chamada.get();
+        assertEquals(esperado, ContadorConsultas.getQuantidade(), String.join("\n", ContadorConsultas.getComandos()));
+        return resultado;
+    }
+
+    @Test
+    void listagemNaoDeveCrescerComAQuantidadeDeTarefas() {
+        // Act
+        List<Tarefa> antes = contar(1, () -> service.listarPorUsuario(usuario));
+        criarTarefas(10);
+        List<Tarefa> depois = contar(1, () -> {
+            List<Tarefa> lista = service.listarPorUsuario(usuario);
+            lista.forEach(t -> t.getUsuario().getEmail()); // Ler o dono não pode disparar SELECT
+            return lista;
+        });
+
+        // Assert
+        assertEquals(antes.size() + 10, depois.size());
+    }
+
+    @Test
+    void paginasEResumosDevemUsarUmaConsulta() {
+        contar(1, () -> service.listarPagina(usuario, OrdemPaginacao.DEADLINE, null, 5));
+        contar(1, () -> service.listarPaginaResumos(usuario, OrdemPaginacao.PRIORIDADE, null, 5));
+        contar(1, () -> service.listarResumos(usuario));
+    }
+
+    @Test
+    void posseDeVariosIdsDeveUsarUmaConsulta() {
+        // Arrange
+        Set<Long> proprias = service.listarPorUsuario(usuario).stream().limit(3).map(Tarefa::getId)
+                .collect(Collectors.toSet());
+        List<Long> pedidos = new ArrayList<>(proprias);
+        pedidos.add(-1L); // Não existe (nem é do usuário)
+
+        // Act
+        Set<Long> filtradas = contar(1, () -> service.filtrarDoUsuario(pedidos, usuario));
+
+        // Assert
+        assertEquals(proprias, filtradas);
+    }
+
+    @Test
+    void buscaPorTituloJaTrazODono() {
+        // Arrange
+        String titulo = service.listarPorUsuario(usuario).get(0).getTitulo();
+
+        // Act
+        Tarefa tarefa = contar(1, () -> service.buscarPorTitulo(titulo, usuario));
+
+        // Assert
+        assertEquals(EMAIL, contar(0, () -> tarefa.getUsuario().getEmail()));
+    }
+
+    @Test
+    void buscasSemUsuarioTambemTrazemODono() {
+        // Arrange
+        Tarefa existente = service.listarPorUsuario(usuario).get(0);
+
+        // Act
+        Tarefa porId = contar(1, () -> repositorio.buscarPorId(existente.getId()));
+        Tarefa porTitulo = contar(1, () -> repositorio.buscarPorTitulo(existente.getTitulo()));
+
+        // Assert: EntityManager já fechado, o dono tem de estar carregado
+        assertEquals(EMAIL, contar(0, () -> porId.getUsuario().getEmail()));
+        assertEquals(EMAIL, contar(0, () -> porTitulo.getUsuario().getEmail()));
+    }
+}
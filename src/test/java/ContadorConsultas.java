@@ -0,0 +1,54 @@
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL que o Hibernate envia ao banco, por thread.
+ * <p>
+ * Só para testes: não está no persistence.xml; o teste o registra como
+ * propriedade do EntityManagerFactory
+ * (hibernate.session_factory.statement_inspector) via
+ * {@code DatabaseManager.getInstance(Map)}. Serve para garantir que uma
+ * chamada de serviço faz um número fixo de consultas, independente da
+ * quantidade de tarefas (sem N+1).
+ * </p>
+ */
+public class ContadorConsultas implements StatementInspector {
+    private static final long serialVersionUID = 1L;
+
+    // Guarda só os primeiros comandos, para a mensagem de erro dos testes
+    private static final int LIMITE_GUARDADOS = 20;
+
+    private static final ThreadLocal<Registro> REGISTRO = ThreadLocal.withInitial(Registro::new);
+
+    @Override
+    public String inspect(String sql) {
+        Registro r = REGISTRO.get();
+        r.quantidade++;
+        if (r.comandos.size() < LIMITE_GUARDADOS) {
+            r.comandos.add(sql);
+        }
+        return sql; // Não altera o comando
+    }
+
+    /** Zera a contagem da thread atual. */
+    public static void zerar() {
+        REGISTRO.remove();
+    }
+
+    /** Comandos enviados pela thread atual desde o último {@link #zerar()}. */
+    public static long getQuantidade() {
+        return REGISTRO.get().quantidade;
+    }
+
+    /** Primeiros comandos enviados pela thread atual (para diagnóstico). */
+    public static List<String> getComandos() {
+        return new ArrayList<>(REGISTRO.get().comandos);
+    }
+
+    private static final class Registro {
+        long quantidade;
+        final List<String> comandos = new ArrayList<>();
+    }
+}
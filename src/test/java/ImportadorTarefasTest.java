@@ -0,0 +1,124 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import importacao.FormatoImportacao;
+import importacao.ImportadorTarefas;
+import importacao.ResultadoImportacao;
+import interfaces.repositories.ITarefaRepository;
+import modelo.Tarefa;
+import modelo.Usuario;
+import validadores.ValidadorTarefa;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Testes do importador de tarefas (CSV e JSON) com um repositório em memória.
+ */
+public class ImportadorTarefasTest {
+
+    private RepositorioEmMemoria repositorio;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        repositorio = new RepositorioEmMemoria();
+        usuario = new Usuario("Teste", "teste@email.com", "hash");
+        usuario.setId(1L);
+    }
+
+    @Test
+    void deveImportarCsvEmLotesERegistrarErrosPorLinha() throws Exception {
+        // Arrange: mesmo cabeçalho do relatório CSV exportado (com BOM)
+        String csv = "\uFEFFTítulo;Descrição;Deadline;Prioridade;Percentual;Status\n"
+                + "\"Estudar; revisar\";\"Cap. 1\";2030-01-10;3;50,0;PENDENTE\n"
+                + ";sem título;2030-01-10;1;0;PENDENTE\n"
+                + "Ler;;15/02/2030;2;;\n"
+                + "Prazo ruim;;amanhã;2;;\n"
+                + "Prioridade alta;;2030-03-01;9;;\n"
+                + "\n"
+                + "Correr;;2030-03-02;;;\n";
+        ImportadorTarefas importador = new ImportadorTarefas(repositorio, new ValidadorTarefa(), 2);
+        List<Long> progresso = Collections.synchronizedList(new ArrayList<>());
+        importador.adicionarObservador(m -> progresso.add(((ResultadoImportacao) m).getImportadas()));
+
+        // Act
+        ResultadoImportacao resultado = importador.importar(new BufferedReader(new StringReader(csv)),
+                FormatoImportacao.CSV, usuario);
+
+        // Assert
+        assertTrue(resultado.isConcluida());
+        assertEquals(6, resultado.getRegistrosLidos());
+        assertEquals(3, resultado.getImportadas());
+        assertEquals(3, resultado.getRejeitadas());
+        assertEquals(List.of(3L, 5L, 6L), resultado.getErros().stream().map(ResultadoImportacao.Erro::getLinha).toList());
+        assertEquals(List.of(2, 1), repositorio.tamanhosDosLotes);
+
+        Tarefa primeira = repositorio.tarefas.get(0);
+        assertEquals("Estudar; revisar", primeira.getTitulo());
+        assertEquals(50.0, primeira.getPercentual());
+        assertEquals(LocalDate.of(2030, 2, 15), repositorio.tarefas.get(1).getDeadline());
+        assertSame(usuario, primeira.getUsuario());
+        assertEquals(3L, progresso.get(progresso.size() - 1));
+    }
+
+    @Test
+    void deveImportarJsonLinesERegravarUmaAUmaQuandoLoteFalha() throws Exception {
+        // Arrange: o repositório recusa lotes com a tarefa "Falha"
+        String json = "[\n"
+                + "{\"titulo\": \"A \\\"entre aspas\\\"\", \"deadline\": \"2030-01-01\", \"prioridade\": 2},\n"
+                + "{\"titulo\": \"Falha\", \"deadline\": \"2030-01-02\"},\n"
+                + "{\"titulo\": \"Incompleta\"\n"
+                + "]\n";
+        repositorio.tituloQueFalha = "Falha";
+        ImportadorTarefas importador = new ImportadorTarefas(repositorio, new ValidadorTarefa(), 10);
+
+        // Act
+        ResultadoImportacao resultado = importador.importar(new BufferedReader(new StringReader(json)),
+                FormatoImportacao.JSON, usuario);
+
+        // Assert
+        assertEquals(1, resultado.getImportadas());
+        assertEquals(2, resultado.getRejeitadas());
+        assertEquals("A \"entre aspas\"", repositorio.tarefas.get(0).getTitulo());
+        assertEquals(List.of(3L, 4L), resultado.getErros().stream().map(ResultadoImportacao.Erro::getLinha).toList());
+    }
+
+    private static class RepositorioEmMemoria implements ITarefaRepository {
+        final List<Tarefa> tarefas = new ArrayList<>();
+        final List<Integer> tamanhosDosLotes = new ArrayList<>();
+        String tituloQueFalha;
+
+        @Override
+        public void salvarTodos(Collection<Tarefa> lote) {
+            for (Tarefa t : lote) {
+                if (t.getTitulo().equals(tituloQueFalha))
+                    throw new IllegalStateException("violação de constraint");
+            }
+            tamanhosDosLotes.add(lote.size());
+            tarefas.addAll(lote);
+        }
+
+        @Override
+        public void salvar(Tarefa tarefa) {
+            if (tarefa.getTitulo().equals(tituloQueFalha))
+                throw new IllegalStateException("violação de constraint");
+            tarefas.add(tarefa);
+        }
+
+        @Override public void remover(Tarefa tarefa) { tarefas.remove(tarefa); }
+        @Override public void atualizar(Tarefa antiga, Tarefa nova) { }
+        @Override public Tarefa buscarPorTitulo(String titulo) { return null; }
+        @Override public Tarefa buscarPorId(Long id) { return null; }
+        @Override public List<Tarefa> listarPorUsuario(Usuario usuario) { return new ArrayList<>(tarefas); }
+        @Override public List<Tarefa> listarPorDataEUsuario(LocalDate data, Usuario usuario) { return List.of(); }
+        @Override public List<Tarefa> listarTodas() { return tarefas; }
+        @Override public List<Tarefa> listarPorData(LocalDate data) { return List.of(); }
+    }
+}
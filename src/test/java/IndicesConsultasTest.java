@@ -0,0 +1,76 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import jakarta.persistence.EntityManager;
+import persistencia.DatabaseManager;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Verifica, via EXPLAIN, que as consultas frequentes usam os índices
+ * criados pelas migrações. Precisa do PostgreSQL local (docker-compose);
+ * sem ele os testes são ignorados.
+ */
+public class IndicesConsultasTest {
+
+    private EntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        try {
+            em = DatabaseManager.getInstance().getEntityManager();
+        } catch (RuntimeException e) {
+            assumeTrue(false, "PostgreSQL local indisponível: " + e.getMessage());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (em != null) {
+            em.close();
+        }
+    }
+
+    private String plano(String sql) {
+        em.getTransaction().begin();
+        try {
+            // Tabelas de teste são pequenas: sem isso o planejador sempre prefere a varredura sequencial
+            em.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+            List<?> linhas = em.createNativeQuery("EXPLAIN " + sql).getResultList();
+            return linhas.stream().map(String::valueOf).collect(Collectors.joining("\n"));
+        } finally {
+            em.getTransaction().rollback();
+        }
+    }
+
+    @Test
+    void listagemPorUsuarioOrdenadaPorDeadlineDeveUsarIndice() {
+        // Act
+        String plano = plano("SELECT * FROM tarefas WHERE usuario_id = 1 ORDER BY deadline, id LIMIT 51");
+
+        // Assert
+        assertTrue(plano.contains("idx_tarefas_usuario_deadline"), plano);
+    }
+
+    @Test
+    void buscaPorTituloDoUsuarioDeveUsarIndice() {
+        // Act
+        String plano = plano("SELECT * FROM tarefas WHERE usuario_id = 1 AND titulo = 'Estudar'");
+
+        // Assert
+        assertTrue(plano.contains("idx_tarefas_usuario_titulo"), plano);
+    }
+
+    @Test
+    void eventosPorDataDevemUsarIndice() {
+        // Act
+        String plano = plano("SELECT * FROM eventos WHERE data_evento = DATE '2025-01-15'");
+
+        // Assert
+        assertTrue(plano.contains("Index"), plano);
+    }
+}
@@ -0,0 +1,107 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import interfaces.repositories.ITarefaRepository;
+import modelo.OrdemPaginacao;
+import modelo.Pagina;
+import modelo.Tarefa;
+import modelo.TarefaResumo;
+import modelo.Usuario;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testes da paginação por chave (cursor), usando a implementação padrão
+ * em memória do ITarefaRepository.
+ */
+public class PaginacaoTarefasTest {
+
+    private RepositorioEmMemoria repositorio;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        repositorio = new RepositorioEmMemoria();
+        usuario = new Usuario("Teste", "teste@email.com", "hash");
+        usuario.setId(1L);
+        LocalDate hoje = LocalDate.now();
+        // Várias tarefas com o mesmo deadline/prioridade: o id desempata
+        for (long i = 1; i <= 7; i++) {
+            Tarefa t = new Tarefa("Tarefa " + i, "", hoje, hoje.plusDays(i % 3), (int) (i % 2));
+            t.setId(i);
+            t.setUsuario(usuario);
+            repositorio.tarefas.add(t);
+        }
+    }
+
+    @Test
+    void devePercorrerTodasAsPaginasSemRepetirNemPular() {
+        for (OrdemPaginacao ordem : OrdemPaginacao.values()) {
+            // Arrange
+            List<Long> vistos = new ArrayList<>();
+            String cursor = null;
+            int paginas = 0;
+
+            // Act
+            do {
+                Pagina<Tarefa> pagina = repositorio.listarPagina(usuario, ordem, cursor, 3);
+                pagina.getItens().forEach(t -> vistos.add(t.getId()));
+                cursor = pagina.getProximoCursor();
+                paginas++;
+            } while (cursor != null);
+
+            // Assert
+            List<Long> esperados = new ArrayList<>();
+            repositorio.tarefas.stream().sorted(ordem.getComparador()).forEach(t -> esperados.add(t.getId()));
+            assertEquals(esperados, vistos, "Ordem " + ordem);
+            assertEquals(3, paginas);
+        }
+    }
+
+    @Test
+    void deveRecusarCursorDeOutraOrdem() {
+        // Arrange
+        String cursor = repositorio.listarPagina(usuario, OrdemPaginacao.DEADLINE, null, 2).getProximoCursor();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> repositorio.listarPagina(usuario, OrdemPaginacao.PRIORIDADE, cursor, 2));
+    }
+
+    @Test
+    void devePaginarResumosComOMesmoCursorDasTarefas() {
+        // Arrange
+        repositorio.tarefas.get(0).setDescricao("x".repeat(TarefaResumo.TAMANHO_DESCRICAO + 20));
+        String cursor = repositorio.listarPagina(usuario, OrdemPaginacao.DEADLINE, null, 3).getProximoCursor();
+
+        // Act
+        Pagina<TarefaResumo> pagina = repositorio.listarPaginaResumos(usuario, OrdemPaginacao.DEADLINE, cursor, 3);
+        List<TarefaResumo> todos = repositorio.listarResumos(usuario);
+
+        // Assert
+        List<Long> esperados = new ArrayList<>();
+        repositorio.listarPagina(usuario, OrdemPaginacao.DEADLINE, cursor, 3).getItens()
+                .forEach(t -> esperados.add(t.getId()));
+        List<Long> vistos = new ArrayList<>();
+        pagina.getItens().forEach(r -> vistos.add(r.id()));
+        assertEquals(esperados, vistos);
+        assertEquals(TarefaResumo.TAMANHO_DESCRICAO, todos.get(0).descricao().length());
+    }
+
+    private static class RepositorioEmMemoria implements ITarefaRepository {
+        final List<Tarefa> tarefas = new ArrayList<>();
+
+        @Override public void salvar(Tarefa tarefa) { tarefas.add(tarefa); }
+        @Override public void remover(Tarefa tarefa) { tarefas.remove(tarefa); }
+        @Override public void atualizar(Tarefa antiga, Tarefa nova) { }
+        @Override public Tarefa buscarPorTitulo(String titulo) { return null; }
+        @Override public Tarefa buscarPorId(Long id) { return null; }
+        @Override public List<Tarefa> listarPorUsuario(Usuario usuario) { return new ArrayList<>(tarefas); }
+        @Override public List<Tarefa> listarPorDataEUsuario(LocalDate data, Usuario usuario) { return List.of(); }
+        @Override public List<Tarefa> listarTodas() { return tarefas; }
+        @Override public List<Tarefa> listarPorData(LocalDate data) { return List.of(); }
+    }
+}
@@ -0,0 +1,205 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import org.bson.Document;
+
+import modelo.ProgressoSubtarefas;
+import modelo.Subtarefa;
+import persistencia.MongoManager;
+import repositorios.SubtarefaRepositoryMongo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Upsert atômico de subtarefas contra o MongoDB local (docker-compose);
+ * sem ele os testes são ignorados. Usa tarefaIds negativos, que nunca
+ * existem no PostgreSQL, e os apaga ao final.
+ */
+public class SubtarefaRepositoryMongoTest {
+
+    private static final int THREADS = 8;
+
+    private SubtarefaRepositoryMongo repositorio;
+    private MongoCollection<Document> colecao;
+    private Long tarefaId;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(MongoManager.getInstance().isDisponivel(), "MongoDB local indisponível");
+        repositorio = new SubtarefaRepositoryMongo();
+        colecao = MongoManager.getInstance().getColecao("subtarefas");
+        tarefaId = -System.nanoTime();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (colecao == null)
+            return;
+        colecao.deleteMany(Filters.in("tarefaId", List.of(tarefaId, tarefaId + 1)));
+        MongoManager.getInstance().getColecao("subtarefas_progresso")
+                .deleteMany(Filters.in("_id", List.of(tarefaId, tarefaId + 1, tarefaId + 2)));
+    }
+
+    private void salvar(Long idTarefa, String titulo, double percentual) {
+        Subtarefa s = new Subtarefa(titulo, "", percentual);
+        s.setTarefaId(idTarefa);
+        repositorio.salvar(s);
+    }
+
+    // Progresso calculado agora a partir das subtarefas, sem passar pelo resumo
+    private ProgressoSubtarefas progressoAgregado(Long idTarefa) {
+        Document doc = colecao.aggregate(List.of(
+                Aggregates.match(Filters.eq("tarefaId", idTarefa)),
+                Aggregates.group(null,
+                        Accumulators.avg("media", "$percentual"),
+                        Accumulators.sum("quantidade", 1)))).first();
+        if (doc == null)
+            return ProgressoSubtarefas.VAZIO;
+        long concluidas = repositorio.listarPorTarefaId(idTarefa).stream()
+                .filter(s -> ProgressoSubtarefas.concluida(s.getPercentual())).count();
+        return new ProgressoSubtarefas(((Number) doc.get("quantidade")).longValue(), concluidas,
+                ((Number) doc.get("media")).doubleValue());
+    }
+
+    private void assertProgressoIgualAoAgregado(Long idTarefa) {
+        ProgressoSubtarefas esperado = progressoAgregado(idTarefa);
+        ProgressoSubtarefas resumo = repositorio.calcularProgresso(idTarefa);
+        assertEquals(esperado.quantidade(), resumo.quantidade());
+        assertEquals(esperado.concluidas(), resumo.concluidas());
+        assertEquals(esperado.media(), resumo.media(), 1e-9);
+    }
+
+    @Test
+    void deveAgregarProgressoNoServidor() {
+        // Arrange
+        salvar(tarefaId, "A", 20.0);
+        salvar(tarefaId, "B", 60.0);
+        salvar(tarefaId + 1, "C", 100.0);
+
+        // Act
+        ProgressoSubtarefas uma = repositorio.calcularProgresso(tarefaId);
+        Map<Long, ProgressoSubtarefas> varias = repositorio.calcularProgresso(
+                List.of(tarefaId, tarefaId + 1, tarefaId + 2));
+
+        // Assert
+        assertEquals(new ProgressoSubtarefas(2, 0, 40.0), uma);
+        assertEquals(uma, varias.get(tarefaId));
+        assertEquals(new ProgressoSubtarefas(1, 1, 100.0), varias.get(tarefaId + 1));
+        assertFalse(varias.containsKey(tarefaId + 2)); // Sem subtarefas
+    }
+
+    @Test
+    void salvamentosConcorrentesNaoDevemDuplicar() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> resultados = new ArrayList<>();
+
+        // Act: metade das threads grava a mesma subtarefa, a outra metade
+        // grava subtarefas próprias, todas ao mesmo tempo
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                double percentual = i * 10.0;
+                String titulo = i % 2 == 0 ? "Concorrente" : "Propria " + i;
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    salvar(tarefaId, titulo, percentual);
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> f : resultados)
+                f.get(); // Propaga exceções das threads
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert: sem duplicatas e o resumo incremental bate com a agregação
+        assertEquals(1 + THREADS / 2, repositorio.listarPorTarefaId(tarefaId).size());
+        assertProgressoIgualAoAgregado(tarefaId);
+    }
+
+    @Test
+    void deveListarSubtarefasDeVariasTarefasNumaConsulta() {
+        // Arrange
+        salvar(tarefaId, "A", 20.0);
+        salvar(tarefaId, "B", 60.0);
+        salvar(tarefaId + 1, "C", 100.0);
+
+        // Act
+        Map<Long, List<Subtarefa>> porTarefa = repositorio.listarPorTarefaIds(
+                List.of(tarefaId + 2, tarefaId, tarefaId + 1));
+
+        // Assert
+        assertEquals(List.of(tarefaId + 2, tarefaId, tarefaId + 1), List.copyOf(porTarefa.keySet()));
+        assertTrue(porTarefa.get(tarefaId + 2).isEmpty());
+        assertEquals(2, porTarefa.get(tarefaId).size());
+        assertEquals("C", porTarefa.get(tarefaId + 1).get(0).getTitulo());
+        assertEquals(tarefaId + 1, porTarefa.get(tarefaId + 1).get(0).getTarefaId());
+    }
+
+    @Test
+    void deveManterProgressoIncrementalAoEditarERemover() {
+        // Arrange
+        salvar(tarefaId, "A", 20.0);
+        salvar(tarefaId, "B", 60.0);
+
+        // Act
+        salvar(tarefaId, "A", 50.0); // Edição: só a diferença entra na soma
+        Subtarefa b = repositorio.buscarPorTitulo("B", tarefaId);
+        repositorio.remover(b);
+        repositorio.remover(b); // Remover de novo não pode descontar duas vezes
+
+        // Assert
+        assertEquals(new ProgressoSubtarefas(1, 0, 50.0), repositorio.calcularProgresso(tarefaId));
+        assertProgressoIgualAoAgregado(tarefaId);
+    }
+
+    @Test
+    void recalcularDeveCorrigirResumoDefasado() {
+        // Arrange: queda entre a gravação da subtarefa e o $inc do resumo
+        salvar(tarefaId, "A", 100.0);
+        colecao.insertOne(new Document("tarefaId", tarefaId).append("titulo", "B").append("descricao", "")
+                .append("percentual", 40.0));
+
+        // Act
+        repositorio.recalcularProgresso();
+
+        // Assert
+        assertEquals(new ProgressoSubtarefas(2, 1, 70.0), repositorio.calcularProgresso(tarefaId));
+        assertProgressoIgualAoAgregado(tarefaId);
+    }
+
+    @Test
+    void salvarDeveSubstituirSubtarefaExistente() {
+        // Arrange
+        Subtarefa s = new Subtarefa("Revisar", "primeira", 10.0);
+        s.setTarefaId(tarefaId);
+        repositorio.salvar(s);
+
+        // Act
+        s.setDescricao("segunda");
+        s.setPercentual(80.0);
+        repositorio.salvar(s);
+        repositorio.salvar(s); // Regravar o mesmo conteúdo não cria outro documento
+
+        // Assert
+        List<Subtarefa> lista = repositorio.listarPorTarefaId(tarefaId);
+        assertEquals(1, lista.size());
+        assertEquals("segunda", lista.get(0).getDescricao());
+        assertEquals(80.0, lista.get(0).getPercentual());
+    }
+}